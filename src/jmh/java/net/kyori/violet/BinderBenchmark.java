@@ -0,0 +1,80 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Binder;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of wrapping binders with {@link VBinder#of(Binder)} and
+ * {@link VBinder#skipSources(Class[])}, compared to using the guice binder directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class BinderBenchmark {
+  @Param({"10", "100", "1000"})
+  public int bindings;
+
+  @Benchmark
+  public List<Element> guice() {
+    return Elements.getElements((Module) binder -> {
+      for(int i = 0; i < this.bindings; i++) {
+        binder.skipSources(BinderBenchmark.class).bind(String.class).annotatedWith(Names.named(String.valueOf(i))).toInstance("guice");
+      }
+    });
+  }
+
+  @Benchmark
+  public List<Element> violetOf() {
+    return Elements.getElements((Module) binder -> {
+      for(int i = 0; i < this.bindings; i++) {
+        VBinder.of(binder).bind(String.class).annotatedWith(Names.named(String.valueOf(i))).toInstance("violet");
+      }
+    });
+  }
+
+  @Benchmark
+  public List<Element> violetSkipSources() {
+    return Elements.getElements((Module) binder -> {
+      final VBinder vbinder = VBinder.of(binder);
+      for(int i = 0; i < this.bindings; i++) {
+        vbinder.skipSources(BinderBenchmark.class).bind(String.class).annotatedWith(Names.named(String.valueOf(i))).toInstance("violet");
+      }
+    });
+  }
+}
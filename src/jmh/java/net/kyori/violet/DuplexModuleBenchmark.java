@@ -0,0 +1,92 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.PrivateModule;
+import com.google.inject.name.Names;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares installing nested {@link DuplexModule}s against installing nested {@link PrivateModule}s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class DuplexModuleBenchmark {
+  @Param({"1", "10", "50"})
+  public int depth;
+
+  @Benchmark
+  public Injector guicePrivate() {
+    return Guice.createInjector(new NestedPrivateModule(this.depth));
+  }
+
+  @Benchmark
+  public Injector violetDuplex() {
+    return Guice.createInjector(binder -> DuplexBinder.create(binder).install(new NestedDuplexModule(this.depth)));
+  }
+
+  private static final class NestedPrivateModule extends PrivateModule {
+    private final int depth;
+
+    NestedPrivateModule(final int depth) {
+      this.depth = depth;
+    }
+
+    @Override
+    protected void configure() {
+      this.bind(String.class).annotatedWith(Names.named(String.valueOf(this.depth))).toInstance("private");
+      this.expose(String.class).annotatedWith(Names.named(String.valueOf(this.depth)));
+      if(this.depth > 1) {
+        this.install(new NestedPrivateModule(this.depth - 1));
+      }
+    }
+  }
+
+  private static final class NestedDuplexModule extends DuplexModule {
+    private final int depth;
+
+    NestedDuplexModule(final int depth) {
+      this.depth = depth;
+    }
+
+    @Override
+    protected void configure() {
+      this.bindAndExpose(String.class).annotatedWith(Names.named(String.valueOf(this.depth))).toInstance("duplex");
+      if(this.depth > 1) {
+        this.install(new NestedDuplexModule(this.depth - 1));
+      }
+    }
+  }
+}
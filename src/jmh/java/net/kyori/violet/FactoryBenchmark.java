@@ -0,0 +1,89 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.assistedinject.Assisted;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares factories generated by a {@link FactoryBuilder} against factories created by
+ * {@link com.google.inject.assistedinject.FactoryModuleBuilder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class FactoryBenchmark {
+  private Factory generated;
+  private Factory proxied;
+  private int value;
+
+  @Setup
+  public void setup() {
+    this.generated = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.installGeneratedFactory(Factory.class);
+      }
+    }).getInstance(Factory.class);
+    this.proxied = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.installFactory(Factory.class);
+      }
+    }).getInstance(Factory.class);
+  }
+
+  @Benchmark
+  public Thing generatedFactory() {
+    return this.generated.create(this.value++);
+  }
+
+  @Benchmark
+  public Thing assistedInjectFactory() {
+    return this.proxied.create(this.value++);
+  }
+
+  public interface Factory {
+    Thing create(final int value);
+  }
+
+  public static class Thing {
+    final int value;
+
+    @Inject
+    Thing(@Assisted final int value) {
+      this.value = value;
+    }
+  }
+}
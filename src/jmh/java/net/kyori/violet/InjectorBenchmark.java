@@ -0,0 +1,90 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating an injector with {@link VBinder#bindLazy(Class) lazy bindings} against
+ * creating an injector with plain bindings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class InjectorBenchmark {
+  @Param({"10", "100", "1000"})
+  public int bindings;
+  private Named[] names;
+
+  @Setup
+  public void setup() {
+    this.names = new Named[this.bindings];
+    for(int i = 0; i < this.bindings; i++) {
+      this.names[i] = Names.named(String.valueOf(i));
+    }
+  }
+
+  @Benchmark
+  public Injector guice() {
+    return Guice.createInjector(new com.google.inject.AbstractModule() {
+      @Override
+      protected void configure() {
+        for(final Named name : InjectorBenchmark.this.names) {
+          this.bind(Thing.class).annotatedWith(name).to(ThingImpl.class);
+        }
+      }
+    });
+  }
+
+  @Benchmark
+  public Injector violetLazy() {
+    return Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        for(final Named name : InjectorBenchmark.this.names) {
+          this.bindLazy(Thing.class).annotatedWith(name).to(ThingImpl.class);
+        }
+      }
+    });
+  }
+
+  public interface Thing {
+  }
+
+  public static class ThingImpl implements Thing {
+  }
+}
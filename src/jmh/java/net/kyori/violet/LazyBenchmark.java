@@ -0,0 +1,113 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.name.Names;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Lazy#get()} against the guice providers it wraps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class LazyBenchmark {
+  private Provider<Thing> unscoped;
+  private Provider<Thing> singleton;
+  private Lazy<Thing> warm;
+  private Lazy<Thing> warmConcurrent;
+  private Lazy<Integer> warmBoxed;
+  private LazyInt warmInt;
+
+  @Setup
+  public void setup() {
+    final Injector injector = Guice.createInjector(binder -> binder.bind(Thing.class).annotatedWith(Names.named("singleton")).to(Thing.class).in(Scopes.SINGLETON));
+    this.unscoped = injector.getProvider(Thing.class);
+    this.singleton = injector.getProvider(Key.get(Thing.class, Names.named("singleton")));
+    this.warm = Lazy.Mode.UNSYNCHRONIZED.create(this.unscoped);
+    this.warm.get();
+    this.warmConcurrent = Lazy.Mode.CONCURRENT.create(this.unscoped);
+    this.warmConcurrent.get();
+    this.warmBoxed = Lazy.Mode.CONCURRENT.create(() -> 1024);
+    this.warmBoxed.get();
+    this.warmInt = new LazyInt(() -> 1024);
+    this.warmInt.getAsInt();
+  }
+
+  @Benchmark
+  public Thing coldGuiceProvider() {
+    return this.unscoped.get();
+  }
+
+  @Benchmark
+  public Thing coldLazy() {
+    return Lazy.Mode.UNSYNCHRONIZED.create(this.unscoped).get();
+  }
+
+  @Benchmark
+  public Thing coldConcurrentLazy() {
+    return Lazy.Mode.CONCURRENT.create(this.unscoped).get();
+  }
+
+  @Benchmark
+  public Thing warmGuiceSingleton() {
+    return this.singleton.get();
+  }
+
+  @Benchmark
+  public Thing warmLazy() {
+    return this.warm.get();
+  }
+
+  @Benchmark
+  public Thing warmConcurrentLazy() {
+    return this.warmConcurrent.get();
+  }
+
+  @Benchmark
+  public int warmBoxedLazy() {
+    return this.warmBoxed.get();
+  }
+
+  @Benchmark
+  public int warmLazyInt() {
+    return this.warmInt.getAsInt();
+  }
+
+  public static class Thing {
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.annotation.ElementType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups in the maps created by a {@link MapBinder} against {@link HashMap} lookups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MapBinderBenchmark {
+  private static final Class<?>[] CLASSES = {String.class, Integer.class, Long.class, Double.class, Object.class, Map.class, HashMap.class, Class.class};
+  private Map<ElementType, Integer> enumHash;
+  private Map<ElementType, Integer> enumOptimized;
+  private Map<String, Integer> stringHash;
+  private Map<String, Integer> stringOptimized;
+  private Map<Class<?>, Integer> classHash;
+  private Map<Class<?>, Integer> classOptimized;
+  private final String[] strings = new String[8];
+  private int index;
+
+  @Setup
+  public void setup() {
+    final ImmutableMap.Builder<ElementType, Integer> enums = ImmutableMap.builder();
+    for(final ElementType type : ElementType.values()) {
+      enums.put(type, type.ordinal());
+    }
+    this.enumHash = new HashMap<>(enums.build());
+    this.enumOptimized = MapBinder.optimize(ElementType.class, enums.build());
+    final ImmutableMap.Builder<String, Integer> strings = ImmutableMap.builder();
+    for(int i = 0; i < 16; i++) {
+      strings.put("message" + i, i);
+    }
+    for(int i = 0; i < this.strings.length; i++) {
+      // distinct instances, as if decoded from a message
+      this.strings[i] = new String("message" + i);
+    }
+    this.stringHash = new HashMap<>(strings.build());
+    this.stringOptimized = MapBinder.optimize(String.class, strings.build());
+    final ImmutableMap.Builder<Class<?>, Integer> classes = ImmutableMap.builder();
+    for(int i = 0; i < CLASSES.length; i++) {
+      classes.put(CLASSES[i], i);
+    }
+    this.classHash = new HashMap<>(classes.build());
+    this.classOptimized = MapBinder.optimize(Class.class, classes.build());
+  }
+
+  private int next() {
+    return this.index = (this.index + 1) & 7;
+  }
+
+  @Benchmark
+  public Integer enumHashMap() {
+    return this.enumHash.get(ElementType.values()[this.next()]);
+  }
+
+  @Benchmark
+  public Integer enumMap() {
+    return this.enumOptimized.get(ElementType.values()[this.next()]);
+  }
+
+  @Benchmark
+  public Integer stringHashMap() {
+    return this.stringHash.get(this.strings[this.next()]);
+  }
+
+  @Benchmark
+  public Integer stringPerfectHashMap() {
+    return this.stringOptimized.get(this.strings[this.next()]);
+  }
+
+  @Benchmark
+  public Integer classHashMap() {
+    return this.classHash.get(CLASSES[this.next()]);
+  }
+
+  @Benchmark
+  public Integer classValueMap() {
+    return this.classOptimized.get(CLASSES[this.next()]);
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of recording a large module graph under each {@link Sources.Mode}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class SourcesBenchmark {
+  @Param({"STACK_TRACE", "PRECOMPUTED"})
+  public Sources.Mode mode;
+  @Param({"100", "1000"})
+  public int modules;
+  private Sources.Mode previous;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.previous = Sources.mode();
+    Sources.mode(this.mode);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    Sources.mode(this.previous);
+  }
+
+  @Benchmark
+  public List<Element> modules() {
+    return Elements.getElements(new Graph(this.modules));
+  }
+
+  @Benchmark
+  public List<Element> duplexModules() {
+    return Elements.getElements((Module) binder -> DuplexBinder.create(binder).install(new DuplexGraph(this.modules)));
+  }
+
+  private static final class Graph extends AbstractModule {
+    private final int modules;
+
+    Graph(final int modules) {
+      this.modules = modules;
+    }
+
+    @Override
+    protected void configure() {
+      for(int i = 0; i < this.modules; i++) {
+        this.install(new Leaf(i));
+      }
+    }
+  }
+
+  private static final class Leaf extends AbstractModule {
+    private final int id;
+
+    Leaf(final int id) {
+      this.id = id;
+    }
+
+    @Override
+    protected void configure() {
+      for(int i = 0; i < 10; i++) {
+        this.bindConstant().annotatedWith(Names.named(this.id + "." + i)).to(i);
+      }
+      this.skipSources(Leaf.class).bind(String.class).annotatedWith(Names.named(String.valueOf(this.id))).toInstance("leaf");
+    }
+  }
+
+  private static final class DuplexGraph extends DuplexModule {
+    private final int modules;
+
+    DuplexGraph(final int modules) {
+      this.modules = modules;
+    }
+
+    @Override
+    protected void configure() {
+      for(int i = 0; i < this.modules; i++) {
+        this.install(new DuplexLeaf(i));
+      }
+    }
+  }
+
+  private static final class DuplexLeaf extends DuplexModule {
+    private final int id;
+
+    DuplexLeaf(final int id) {
+      this.id = id;
+    }
+
+    @Override
+    protected void configure() {
+      for(int i = 0; i < 10; i++) {
+        this.bindConstant().annotatedWith(Names.named(this.id + "." + i)).to(i);
+      }
+      this.skipSources(DuplexLeaf.class).bindAndExpose(String.class).annotatedWith(Names.named(String.valueOf(this.id))).toInstance("leaf");
+    }
+  }
+}
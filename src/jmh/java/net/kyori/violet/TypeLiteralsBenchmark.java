@@ -0,0 +1,98 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.reflect.TypeParameter;
+import com.google.common.reflect.TypeToken;
+import com.google.inject.TypeLiteral;
+import com.google.inject.util.Types;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TypeLiterals} and {@link FriendlyTypeLiteral#where(TypeArgument[])} against building
+ * type literals with guice directly, and against resolving them with a {@link TypeToken} on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TypeLiteralsBenchmark {
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public TypeLiteral<List<String>> listOfGuice() {
+    return (TypeLiteral<List<String>>) TypeLiteral.get(Types.listOf(String.class));
+  }
+
+  @Benchmark
+  public TypeLiteral<List<String>> listOfResolved() {
+    return resolveListOf(String.class);
+  }
+
+  @Benchmark
+  public TypeLiteral<List<String>> listOfViolet() {
+    return TypeLiterals.listOf(String.class);
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public TypeLiteral<Map<String, Set<Integer>>> mapOfGuice() {
+    return (TypeLiteral<Map<String, Set<Integer>>>) TypeLiteral.get(Types.mapOf(String.class, Types.setOf(Integer.class)));
+  }
+
+  @Benchmark
+  public TypeLiteral<Map<String, Set<Integer>>> mapOfViolet() {
+    return TypeLiterals.mapOf(String.class, TypeLiterals.setOf(Integer.class));
+  }
+
+  @Benchmark
+  public TypeLiteral<Lazy<String>> whereResolved() {
+    return resolveLazyOf(String.class);
+  }
+
+  @Benchmark
+  public TypeLiteral<Lazy<String>> whereViolet() {
+    return lazyOf(String.class);
+  }
+
+  private static <T> TypeLiteral<List<T>> resolveListOf(final Class<T> type) {
+    return EvenMoreTypes.literal(new TypeToken<List<T>>() {}.where(new TypeParameter<T>() {}, TypeToken.of(type)));
+  }
+
+  private static <T> TypeLiteral<Lazy<T>> resolveLazyOf(final Class<T> type) {
+    return EvenMoreTypes.literal(new TypeToken<Lazy<T>>() {}.where(new TypeParameter<T>() {}, TypeToken.of(type)));
+  }
+
+  private static <T> TypeLiteral<Lazy<T>> lazyOf(final Class<T> type) {
+    return new FriendlyTypeLiteral<Lazy<T>>() {}.where(new TypeArgument<T>(type) {});
+  }
+}
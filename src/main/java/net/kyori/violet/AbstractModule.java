@@ -38,15 +38,29 @@ import static com.google.common.base.Preconditions.checkState;
  */
 public abstract class AbstractModule implements Module, VBinder {
   private @Nullable Binder binder;
+  // a wrapper reused for the duration of configuration, so that skipping sources is memoized
+  private @Nullable VBinder wrapper;
 
   @Override
   public final void configure(final Binder binder) {
     checkState(this.binder == null, "Re-entry is not allowed.");
-    this.binder = binder;
+    final /* @Nullable */ ModuleProfiler profiler = ModuleProfiler.active();
+    if(profiler != null) {
+      this.binder = profiler.binder(Sources.binder(binder, this));
+      try {
+        profiler.profile(this, this::configure);
+      } finally {
+        this.binder = null;
+        this.wrapper = null;
+      }
+      return;
+    }
+    this.binder = Sources.binder(binder, this);
     try {
       this.configure();
     } finally {
       this.binder = null;
+      this.wrapper = null;
     }
   }
 
@@ -61,4 +75,21 @@ public abstract class AbstractModule implements Module, VBinder {
     checkState(this.binder != null, "The binder can only be used inside configure()");
     return this.binder;
   }
+
+  @Override
+  public VBinder withSource(final Object source) {
+    return this.wrapper().withSource(source);
+  }
+
+  @Override
+  public VBinder skipSources(final Class... classesToSkip) {
+    return this.wrapper().skipSources(classesToSkip);
+  }
+
+  private VBinder wrapper() {
+    if(this.wrapper == null) {
+      this.wrapper = VBinder.of(this.binder());
+    }
+    return this.wrapper;
+  }
 }
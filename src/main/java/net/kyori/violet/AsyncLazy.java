@@ -0,0 +1,106 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.inject.Provider;
+
+/**
+ * An asynchronously-loaded dependency.
+ *
+ * <p>An {@code AsyncLazy} loads its value on an {@link Executor} once {@link #prefetch() prefetched}, and remembers
+ * that value for all subsequent calls to {@link #prefetch()} and {@link #get()}. The underlying provider is called at most once.</p>
+ *
+ * @param <T> the type to provide
+ * @see VBinder#bindLazyAsync(com.google.inject.Key)
+ */
+public class AsyncLazy<T> implements Provider<T>, Supplier<T> {
+  private final AtomicReference<@Nullable Provider<T>> provider;
+  private final Executor executor;
+  private final CompletableFuture<T> future = new CompletableFuture<>();
+
+  public AsyncLazy(final @NonNull Provider<T> provider, final @NonNull Executor executor) {
+    this.provider = new AtomicReference<>(provider);
+    this.executor = executor;
+  }
+
+  /**
+   * Begins loading the value, if loading has not already begun.
+   *
+   * <p>The returned future is a view of the value - completing it does not affect the value of this lazy.</p>
+   *
+   * @return a future completed with the value
+   */
+  public @NonNull CompletableFuture<T> prefetch() {
+    return this.load().thenApply(Function.identity());
+  }
+
+  private CompletableFuture<T> load() {
+    final /* @Nullable */ Provider<T> provider = this.provider.getAndSet(null);
+    if(provider != null) {
+      try {
+        this.executor.execute(() -> {
+          try {
+            this.future.complete(provider.get());
+          } catch(final Throwable t) {
+            this.future.completeExceptionally(t);
+          }
+        });
+      } catch(final RejectedExecutionException e) {
+        this.future.completeExceptionally(e);
+      }
+    }
+    return this.future;
+  }
+
+  /**
+   * Gets the value, blocking until it has been loaded.
+   *
+   * @return the value
+   */
+  @Override
+  public T get() {
+    try {
+      return this.load().join();
+    } catch(final CompletionException e) {
+      final /* @Nullable */ Throwable cause = e.getCause();
+      if(cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if(cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,325 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Binder;
+import com.google.inject.ConfigurationException;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.inject.Inject;
+
+/**
+ * A binding index written at compile time by {@code violet-processor}.
+ *
+ * <p>The index lists the classes with an {@code @Inject} constructor, the classes annotated with
+ * {@link LazySingleton}, and the concrete violet modules with a public no-argument constructor. Looking up the
+ * indexed classes lets an injector discover them up front, instead of on first use or by scanning the class path.</p>
+ *
+ * <p>A loaded index contains the indexes of every library visible to the class loader, so it should usually be
+ * restricted to the {@link #packages(String...) packages} of an application.</p>
+ */
+public final class BindingIndex {
+  /**
+   * The location of the binding index.
+   */
+  public static final String LOCATION = "META-INF/violet/bindings.index";
+  // the kinds of entries - these must match those written by BindingIndexProcessor in violet-processor
+  static final String INJECT = "inject";
+  static final String LAZY_SINGLETON = "lazy-singleton";
+  static final String MODULE = "module";
+  private final ClassLoader loader;
+  private final Set<String> injectables;
+  private final Set<String> lazySingletons;
+  private final Set<String> modules;
+
+  private BindingIndex(final ClassLoader loader, final Set<String> injectables, final Set<String> lazySingletons, final Set<String> modules) {
+    this.loader = loader;
+    this.injectables = Collections.unmodifiableSet(injectables);
+    this.lazySingletons = Collections.unmodifiableSet(lazySingletons);
+    this.modules = Collections.unmodifiableSet(modules);
+  }
+
+  /**
+   * Loads the binding indexes visible to the class loader of violet.
+   *
+   * @return the binding index
+   */
+  public static @NonNull BindingIndex load() {
+    return load(BindingIndex.class.getClassLoader());
+  }
+
+  /**
+   * Loads the binding indexes visible to {@code loader}.
+   *
+   * @param loader the class loader
+   * @return the binding index
+   * @throws UncheckedIOException if an index could not be read
+   */
+  public static @NonNull BindingIndex load(final @NonNull ClassLoader loader) {
+    final Set<String> injectables = new LinkedHashSet<>();
+    final Set<String> lazySingletons = new LinkedHashSet<>();
+    final Set<String> modules = new LinkedHashSet<>();
+    try {
+      final Enumeration<URL> resources = loader.getResources(LOCATION);
+      while(resources.hasMoreElements()) {
+        final URL resource = resources.nextElement();
+        try(final BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+          /* @Nullable */ String line;
+          while((line = reader.readLine()) != null) {
+            line = line.trim();
+            final int space = line.indexOf(' ');
+            if(line.isEmpty() || line.charAt(0) == '#' || space < 0) {
+              continue;
+            }
+            final String name = line.substring(space + 1).trim();
+            switch(line.substring(0, space)) {
+              case INJECT: injectables.add(name); break;
+              case LAZY_SINGLETON: lazySingletons.add(name); break;
+              case MODULE: modules.add(name); break;
+              // entries written by a newer processor
+              default: break;
+            }
+          }
+        }
+      }
+    } catch(final IOException e) {
+      throw new UncheckedIOException("Could not read " + LOCATION, e);
+    }
+    return new BindingIndex(loader, injectables, lazySingletons, modules);
+  }
+
+  /**
+   * Gets the binary names of the indexed classes with an {@code @Inject} constructor which are not lazy singletons.
+   *
+   * @return the binary names
+   */
+  public @NonNull Set<String> injectables() {
+    return this.injectables;
+  }
+
+  /**
+   * Gets the binary names of the indexed classes annotated with {@link LazySingleton}.
+   *
+   * @return the binary names
+   */
+  public @NonNull Set<String> lazySingletons() {
+    return this.lazySingletons;
+  }
+
+  /**
+   * Gets the binary names of the indexed modules.
+   *
+   * @return the binary names
+   */
+  public @NonNull Set<String> modules() {
+    return this.modules;
+  }
+
+  /**
+   * Creates a binding index containing the entries of this index whose binary name matches {@code filter}.
+   *
+   * @param filter the filter
+   * @return a binding index
+   */
+  public @NonNull BindingIndex filter(final @NonNull Predicate<String> filter) {
+    return new BindingIndex(this.loader, matching(this.injectables, filter), matching(this.lazySingletons, filter), matching(this.modules, filter));
+  }
+
+  /**
+   * Creates a binding index containing the entries of this index in any of {@code packages}, or their subpackages.
+   *
+   * @param packages the package names
+   * @return a binding index
+   */
+  public @NonNull BindingIndex packages(final @NonNull String... packages) {
+    final List<String> prefixes = new ArrayList<>(packages.length);
+    for(final String name : packages) {
+      prefixes.add(name + '.');
+    }
+    return this.filter(name -> {
+      for(final String prefix : prefixes) {
+        if(name.startsWith(prefix)) {
+          return true;
+        }
+      }
+      return false;
+    });
+  }
+
+  private static Set<String> matching(final Set<String> names, final Predicate<String> filter) {
+    final Set<String> filtered = new LinkedHashSet<>();
+    for(final String name : names) {
+      if(filter.test(name)) {
+        filtered.add(name);
+      }
+    }
+    return filtered;
+  }
+
+  /**
+   * Gets the indexed modules.
+   *
+   * <p>Indexed modules are only installed when passed to {@link #module(Iterable)}, or installed directly. Each
+   * returned module creates its indexed module when configured, and installs it - so an indexed module which is also
+   * installed elsewhere is configured once.</p>
+   *
+   * @return the indexed modules
+   */
+  public @NonNull List<Module> indexedModules() {
+    final List<Module> modules = new ArrayList<>(this.modules.size());
+    for(final String name : this.modules) {
+      modules.add(new IndexedModule(this.loader, name));
+    }
+    return modules;
+  }
+
+  /**
+   * Creates a module which looks up the indexed classes.
+   *
+   * @return a module
+   * @see #module(Iterable)
+   */
+  public @NonNull Module module() {
+    return this.module(Collections.emptyList());
+  }
+
+  /**
+   * Creates a module which installs {@code modules}, and looks up the indexed classes.
+   *
+   * <p>The indexed classes are looked up rather than bound, so their bindings are created when the injector is
+   * created, and they may also be bound by any module. An indexed class which the injector cannot bind, such as one
+   * bound in a private module or one which depends on the bindings of a child injector, is skipped - it is bound where
+   * it is used, as it would be without the index.</p>
+   *
+   * @param modules the modules
+   * @return a module
+   * @see #indexedModules()
+   */
+  public @NonNull Module module(final @NonNull Iterable<? extends Module> modules) {
+    return parent -> {
+      final Binder binder = parent.skipSources(BindingIndex.class);
+      for(final Module module : modules) {
+        binder.install(module);
+      }
+      final List<Class<?>> types = new ArrayList<>(this.injectables.size() + this.lazySingletons.size());
+      for(final String name : ImmutableSet.<String>builder().addAll(this.injectables).addAll(this.lazySingletons).build()) {
+        final /* @Nullable */ Class<?> type = type(binder, this.loader, name);
+        if(type != null) {
+          types.add(type);
+        }
+      }
+      binder.requestInjection(new Lookup(types));
+    };
+  }
+
+  private static @Nullable Class<?> type(final Binder binder, final ClassLoader loader, final String name) {
+    try {
+      return Class.forName(name, false, loader);
+    } catch(final ClassNotFoundException | LinkageError e) {
+      binder.addError("Could not load indexed class %s: %s", name, e);
+      return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "BindingIndex{injectables=" + this.injectables.size() + ", lazySingletons=" + this.lazySingletons.size() + ", modules=" + this.modules.size() + '}';
+  }
+
+  // looks up the indexed classes when the injector is created
+  private static final class Lookup {
+    private final List<Class<?>> types;
+
+    Lookup(final List<Class<?>> types) {
+      this.types = types;
+    }
+
+    @Inject
+    void initialize(final Injector injector) {
+      for(final Class<?> type : this.types) {
+        try {
+          injector.getBinding(type);
+        } catch(final ConfigurationException e) {
+          // bound in a private environment, or depends on bindings the injector does not have
+        }
+      }
+    }
+  }
+
+  private static final class IndexedModule implements Module {
+    private final ClassLoader loader;
+    private final String name;
+
+    IndexedModule(final ClassLoader loader, final String name) {
+      this.loader = loader;
+      this.name = name;
+    }
+
+    @Override
+    public void configure(Binder binder) {
+      binder = binder.skipSources(IndexedModule.class);
+      final /* @Nullable */ Class<?> type = type(binder, this.loader, this.name);
+      if(type != null) {
+        try {
+          binder.install((Module) type.getConstructor().newInstance());
+        } catch(final ReflectiveOperationException | ClassCastException e) {
+          binder.addError("Could not create indexed module %s: %s", this.name, e);
+        }
+      }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof IndexedModule && this.loader == ((IndexedModule) other).loader && this.name.equals(((IndexedModule) other).name);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(this.loader) + this.name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "IndexedModule{" + this.name + '}';
+    }
+  }
+}
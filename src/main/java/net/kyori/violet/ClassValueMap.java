@@ -0,0 +1,161 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable map with {@link Class} keys, where lookups are cached on the class by a {@link ClassValue}.
+ *
+ * <p>The {@link ClassValue} is created once per set of keys by {@link #index(List)}, and is shared by every map
+ * created from it.</p>
+ *
+ * @param <V> the value type
+ */
+final class ClassValueMap<V> extends AbstractMap<Class<?>, V> {
+  private final Index index;
+  // in the order of the keys of the index
+  private final Object[] values;
+
+  private ClassValueMap(final Index index, final Object[] values) {
+    this.index = index;
+    this.values = values;
+  }
+
+  /**
+   * Creates a class value map.
+   *
+   * @param map the map
+   * @param <V> the value type
+   * @return a class value map
+   */
+  static <V> @NonNull ClassValueMap<V> create(final @NonNull ImmutableMap<Class<?>, V> map) {
+    return index(map.keySet().asList()).map(map.values().toArray());
+  }
+
+  /**
+   * Creates an index of {@code keys}.
+   *
+   * @param keys the distinct keys
+   * @return an index
+   */
+  static @NonNull Index index(final @NonNull List<Class<?>> keys) {
+    return new Index(ImmutableList.copyOf(keys));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable V get(final Object key) {
+    if(!(key instanceof Class<?>)) {
+      return null;
+    }
+    final int index = this.index.get((Class<?>) key);
+    return index != -1 ? (V) this.values[index] : null;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return this.get(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return this.values.length;
+  }
+
+  @Override
+  public @NonNull Set<Map.Entry<Class<?>, V>> entrySet() {
+    return new AbstractSet<Map.Entry<Class<?>, V>>() {
+      @Override
+      public Iterator<Map.Entry<Class<?>, V>> iterator() {
+        return new Iterator<Map.Entry<Class<?>, V>>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return this.index < ClassValueMap.this.values.length;
+          }
+
+          @Override
+          @SuppressWarnings("unchecked")
+          public Map.Entry<Class<?>, V> next() {
+            if(!this.hasNext()) {
+              throw new NoSuchElementException();
+            }
+            final int index = this.index++;
+            return new SimpleImmutableEntry<>(ClassValueMap.this.index.keys.get(index), (V) ClassValueMap.this.values[index]);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return ClassValueMap.this.values.length;
+      }
+    };
+  }
+
+  /**
+   * The index of each key in a set of classes, cached on the class.
+   */
+  static final class Index {
+    final ImmutableList<Class<?>> keys;
+    private final ClassValue<Integer> indices = new ClassValue<Integer>() {
+      @Override
+      protected Integer computeValue(final Class<?> type) {
+        return Index.this.keys.indexOf(type);
+      }
+    };
+
+    Index(final ImmutableList<Class<?>> keys) {
+      this.keys = keys;
+    }
+
+    int get(final Class<?> type) {
+      return this.indices.get(type);
+    }
+
+    /**
+     * Creates a map of the keys of this index to {@code values}.
+     *
+     * @param values the values, in the order of the keys of this index
+     * @param <V> the value type
+     * @return a map
+     */
+    <V> @NonNull ClassValueMap<V> map(final @NonNull Object[] values) {
+      return new ClassValueMap<>(this, values);
+    }
+  }
+}
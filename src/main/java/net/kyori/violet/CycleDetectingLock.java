@@ -0,0 +1,105 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Key;
+import com.google.inject.ProvisionException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A reentrant lock guarding the provisioning of a key, which fails rather than deadlocks when threads
+ * provisioning mutually dependent keys would wait for each other.
+ */
+final class CycleDetectingLock {
+  // thread -> the lock it is waiting for
+  private static final ConcurrentMap<Thread, CycleDetectingLock> WAITING = new ConcurrentHashMap<>();
+  private static final long RECHECK_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+  private final Key<?> key;
+  private final Lock lock = new Lock();
+
+  CycleDetectingLock(final @NonNull Key<?> key) {
+    this.key = key;
+  }
+
+  /**
+   * Acquires this lock.
+   *
+   * @throws ProvisionException if waiting for this lock would deadlock
+   */
+  void lock() {
+    if(this.lock.tryLock()) {
+      return;
+    }
+    final Thread current = Thread.currentThread();
+    WAITING.put(current, this);
+    try {
+      // both threads of a cycle may begin waiting at the same time, so the cycle is checked for while waiting
+      while(true) {
+        this.checkCycle(current);
+        try {
+          if(this.lock.tryLock(RECHECK_INTERVAL, TimeUnit.NANOSECONDS)) {
+            return;
+          }
+        } catch(final InterruptedException e) {
+          current.interrupt();
+          throw new ProvisionException("Interrupted while waiting to provision " + this.key, e);
+        }
+      }
+    } finally {
+      WAITING.remove(current);
+    }
+  }
+
+  void unlock() {
+    this.lock.unlock();
+  }
+
+  private void checkCycle(final Thread current) {
+    final Set<Thread> visited = new HashSet<>();
+    /* @Nullable */ Thread owner = this.lock.owner();
+    while(owner != null && visited.add(owner)) {
+      if(owner == current) {
+        throw new ProvisionException("Deadlock detected while provisioning " + this.key + ": another thread holds it while waiting for a key held by this thread");
+      }
+      final /* @Nullable */ CycleDetectingLock waiting = WAITING.get(owner);
+      owner = waiting != null ? waiting.lock.owner() : null;
+    }
+  }
+
+  private static final class Lock extends ReentrantLock {
+    private static final long serialVersionUID = 1L;
+
+    @Nullable Thread owner() {
+      return this.getOwner();
+    }
+  }
+}
@@ -46,7 +46,7 @@ public interface DuplexBinder extends ForwardingPrivateBinder {
     if(binder instanceof DuplexBinder) {
       return (DuplexBinder) binder;
     }
-    return new DuplexBinderImpl(binder, binder.newPrivateBinder());
+    return DuplexBinderImpl.create(binder, binder.newPrivateBinder());
   }
 
   /**
@@ -58,11 +58,11 @@ public interface DuplexBinder extends ForwardingPrivateBinder {
 
   @Override
   default DuplexBinder withSource(final Object source) {
-    return new DuplexBinderImpl(this.publicBinder().withSource(source), this.binder().withSource(source));
+    return DuplexBinderImpl.create(this.publicBinder().withSource(source), this.binder().withSource(source));
   }
 
   @Override
   default DuplexBinder skipSources(final Class... classesToSkip) {
-    return new DuplexBinderImpl(this.publicBinder().skipSources(classesToSkip), this.binder().skipSources(classesToSkip));
+    return DuplexBinderImpl.create(this.publicBinder().skipSources(classesToSkip), this.binder().skipSources(classesToSkip));
   }
 }
@@ -43,10 +43,24 @@ final class DuplexBinderImpl implements DuplexBinder {
   private final Binder publicBinder;
   private final PrivateBinder privateBinder;
 
-  DuplexBinderImpl(final Binder publicBinder, final PrivateBinder privateBinder) {
-    this.publicBinder = publicBinder.skipSources(SKIPPED_SOURCES);
-    // Special case DuplexBinder to prevent creation of a new DuplexBinderImpl when skipping sources
-    this.privateBinder = (privateBinder instanceof DuplexBinder ? ((DuplexBinder) privateBinder).binder() : privateBinder).skipSources(SKIPPED_SOURCES);
+  // Both binders must already skip our sources.
+  private DuplexBinderImpl(final Binder publicBinder, final PrivateBinder privateBinder) {
+    this.publicBinder = publicBinder;
+    this.privateBinder = privateBinder;
+  }
+
+  static DuplexBinderImpl create(final Binder publicBinder, final PrivateBinder privateBinder) {
+    // Unwrap forwarding binders (including DuplexBinder) to prevent creation of a new wrapper when skipping sources,
+    // and so that the binder we install modules into is the binder they are configured with
+    return new DuplexBinderImpl(publicBinder.skipSources(SKIPPED_SOURCES), unwrap(privateBinder).skipSources(SKIPPED_SOURCES));
+  }
+
+  private static PrivateBinder unwrap(final PrivateBinder binder) {
+    PrivateBinder unwrapped = binder;
+    while(unwrapped instanceof ForwardingPrivateBinder) {
+      unwrapped = ((ForwardingPrivateBinder) unwrapped).binder();
+    }
+    return unwrapped;
   }
 
   @Override
@@ -59,6 +73,16 @@ final class DuplexBinderImpl implements DuplexBinder {
     return this.privateBinder;
   }
 
+  @Override
+  public DuplexBinder withSource(final Object source) {
+    return new DuplexBinderImpl(this.publicBinder.withSource(source), this.privateBinder.withSource(source));
+  }
+
+  @Override
+  public DuplexBinder skipSources(final Class... classesToSkip) {
+    return new DuplexBinderImpl(this.publicBinder.skipSources(classesToSkip), this.privateBinder.skipSources(classesToSkip));
+  }
+
   @Override
   public void install(final Module module) {
     final /* @Nullable */ DuplexBinderImpl activeBinder = ACTIVE_BINDER.get();
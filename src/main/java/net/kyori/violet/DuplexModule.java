@@ -64,6 +64,8 @@ import static com.google.common.base.Preconditions.checkState;
 // https://github.com/google/guice/issues/369#issuecomment-48217990
 public abstract class DuplexModule implements Module, VDuplexBinder {
   private @Nullable DuplexBinder binder;
+  // a wrapper reused for the duration of configuration, so that skipping sources is memoized
+  private @Nullable VDuplexBinder wrapper;
 
   @Override
   public final void configure(final Binder binder) {
@@ -77,10 +79,23 @@ public abstract class DuplexModule implements Module, VDuplexBinder {
       );
       return;
     }
+    this.binder = Sources.binder(this.binder, this);
+    final /* @Nullable */ ModuleProfiler profiler = ModuleProfiler.active();
+    if(profiler != null) {
+      this.binder = profiler.binder(this.binder);
+      try {
+        profiler.profile(this, this::configure);
+      } finally {
+        this.binder = null;
+        this.wrapper = null;
+      }
+      return;
+    }
     try {
       this.configure();
     } finally {
       this.binder = null;
+      this.wrapper = null;
     }
   }
 
@@ -95,4 +110,21 @@ public abstract class DuplexModule implements Module, VDuplexBinder {
     checkState(this.binder != null, "The binder can only be used inside configure()");
     return this.binder;
   }
+
+  @Override
+  public VDuplexBinder withSource(final Object source) {
+    return this.wrapper().withSource(source);
+  }
+
+  @Override
+  public VDuplexBinder skipSources(final Class... classesToSkip) {
+    return this.wrapper().skipSources(classesToSkip);
+  }
+
+  private VDuplexBinder wrapper() {
+    if(this.wrapper == null) {
+      this.wrapper = VDuplexBinder.of(this.binder());
+    }
+    return this.wrapper;
+  }
 }
@@ -23,20 +23,41 @@
  */
 package net.kyori.violet;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.reflect.TypeToken;
 import com.google.inject.TypeLiteral;
 import com.google.inject.internal.MoreTypes;
 import com.google.inject.util.Types;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.lang.reflect.Type;
+
 /**
  * @see Types
  * @see MoreTypes
  */
 public final class EvenMoreTypes {
+  // canonical type literals - weakly held, so that they do not keep their classes (and class loaders) reachable
+  private static final Interner<TypeLiteral<?>> LITERALS = Interners.newWeakInterner();
+
   private EvenMoreTypes() {
   }
 
+  /**
+   * Gets the canonical type literal for {@code type}.
+   *
+   * <p>Equal types share a single type literal instance, for as long as that instance is reachable.</p>
+   *
+   * @param type the type
+   * @param <T> the type
+   * @return the type literal
+   */
+  @SuppressWarnings("unchecked")
+  static <T> @NonNull TypeLiteral<T> canonicalLiteral(final @NonNull Type type) {
+    return (TypeLiteral<T>) LITERALS.intern(TypeLiteral.get(type));
+  }
+
   /**
    * Converts a type token to a type literal.
    *
@@ -0,0 +1,393 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.inject.Binder;
+import com.google.inject.BindingAnnotation;
+import com.google.inject.Key;
+import com.google.inject.MembersInjector;
+import com.google.inject.Module;
+import com.google.inject.TypeLiteral;
+import com.google.inject.assistedinject.Assisted;
+import com.google.inject.assistedinject.AssistedInject;
+import com.google.inject.assistedinject.FactoryModuleBuilder;
+import com.google.inject.spi.InjectionPoint;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Provider;
+import javax.inject.Qualifier;
+
+/**
+ * A builder of factory modules, where the factories are generated with {@link java.lang.invoke.LambdaMetafactory}
+ * and {@link MethodHandle}s.
+ *
+ * <p>This is an alternative to {@link FactoryModuleBuilder}, which implements factories with proxies and reflective
+ * dispatch. Factories with a single method are implemented by a generated class, and invoke the constructor of the
+ * implementation through a method handle. Factories with more than one method, or which are not accessible to violet,
+ * are implemented with a proxy which still invokes constructors through method handles. Default methods of a
+ * factory are invoked as declared - a proxied factory whose default methods are not accessible to violet, such as those
+ * of an interface in a module which is not open, fails injector creation.</p>
+ *
+ * <p>The implementation is chosen from its constructors annotated with {@link com.google.inject.Inject @Inject},
+ * {@link javax.inject.Inject @Inject} or {@link AssistedInject @AssistedInject} whose {@link Assisted @Assisted} parameters
+ * match the parameters of the factory method. Other parameters are provided by the injector, and members of the
+ * implementation are injected after it has been constructed. Unlike {@link FactoryModuleBuilder}, method interceptors
+ * are not applied to instances created by a generated factory.</p>
+ *
+ * @see VBinder#installGeneratedFactory(Key, java.util.function.Consumer)
+ */
+public final class FactoryBuilder {
+  private final Map<Key<?>, TypeLiteral<?>> implementations = new HashMap<>();
+
+  /**
+   * Sets the implementation of a type returned by a factory method.
+   *
+   * @param source the returned type
+   * @param target the implementation
+   * @param <T> the returned type
+   * @return this builder
+   * @see FactoryModuleBuilder#implement(Class, Class)
+   */
+  public <T> @NonNull FactoryBuilder implement(final @NonNull Class<T> source, final @NonNull Class<? extends T> target) {
+    return this.implement(Key.get(source), TypeLiteral.get(target));
+  }
+
+  /**
+   * Sets the implementation of a type returned by a factory method.
+   *
+   * @param source the returned type
+   * @param target the implementation
+   * @param <T> the returned type
+   * @return this builder
+   * @see FactoryModuleBuilder#implement(Class, TypeLiteral)
+   */
+  public <T> @NonNull FactoryBuilder implement(final @NonNull Class<T> source, final @NonNull TypeLiteral<? extends T> target) {
+    return this.implement(Key.get(source), target);
+  }
+
+  /**
+   * Sets the implementation of a type returned by a factory method.
+   *
+   * @param source the returned type
+   * @param target the implementation
+   * @param <T> the returned type
+   * @return this builder
+   * @see FactoryModuleBuilder#implement(TypeLiteral, Class)
+   */
+  public <T> @NonNull FactoryBuilder implement(final @NonNull TypeLiteral<T> source, final @NonNull Class<? extends T> target) {
+    return this.implement(Key.get(source), TypeLiteral.get(target));
+  }
+
+  /**
+   * Sets the implementation of a type returned by a factory method.
+   *
+   * @param source the returned type
+   * @param target the implementation
+   * @param <T> the returned type
+   * @return this builder
+   * @see FactoryModuleBuilder#implement(TypeLiteral, TypeLiteral)
+   */
+  public <T> @NonNull FactoryBuilder implement(final @NonNull TypeLiteral<T> source, final @NonNull TypeLiteral<? extends T> target) {
+    return this.implement(Key.get(source), target);
+  }
+
+  /**
+   * Sets the implementation of a key returned by a factory method.
+   *
+   * @param source the returned key
+   * @param target the implementation
+   * @param <T> the returned type
+   * @return this builder
+   * @see FactoryModuleBuilder#implement(Key, Class)
+   */
+  public <T> @NonNull FactoryBuilder implement(final @NonNull Key<T> source, final @NonNull Class<? extends T> target) {
+    return this.implement(source, TypeLiteral.get(target));
+  }
+
+  /**
+   * Sets the implementation of a key returned by a factory method.
+   *
+   * @param source the returned key
+   * @param target the implementation
+   * @param <T> the returned type
+   * @return this builder
+   * @see FactoryModuleBuilder#implement(Key, TypeLiteral)
+   */
+  public <T> @NonNull FactoryBuilder implement(final @NonNull Key<T> source, final @NonNull TypeLiteral<? extends T> target) {
+    this.implementations.put(source, target);
+    return this;
+  }
+
+  /**
+   * Creates a module which binds a generated implementation of a factory.
+   *
+   * @param factory the factory type
+   * @param <F> the factory type
+   * @return a module
+   */
+  public <F> @NonNull Module build(final @NonNull Class<F> factory) {
+    return this.build(Key.get(factory));
+  }
+
+  /**
+   * Creates a module which binds a generated implementation of a factory.
+   *
+   * @param factory the factory type
+   * @param <F> the factory type
+   * @return a module
+   */
+  public <F> @NonNull Module build(final @NonNull TypeLiteral<F> factory) {
+    return this.build(Key.get(factory));
+  }
+
+  /**
+   * Creates a module which binds a generated implementation of a factory.
+   *
+   * @param factory the factory key
+   * @param <F> the factory type
+   * @return a module
+   */
+  public <F> @NonNull Module build(final @NonNull Key<F> factory) {
+    return new FactoryModule<>(factory, ImmutableMap.copyOf(this.implementations));
+  }
+
+  private static final class FactoryModule<F> implements Module {
+    private final Key<F> key;
+    private final Map<Key<?>, TypeLiteral<?>> implementations;
+
+    FactoryModule(final Key<F> key, final Map<Key<?>, TypeLiteral<?>> implementations) {
+      this.key = key;
+      this.implementations = implementations;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void configure(Binder binder) {
+      binder = binder.skipSources(FactoryBuilder.class, FactoryModule.class);
+      final TypeLiteral<F> type = this.key.getTypeLiteral();
+      final Class<F> raw = (Class<F>) type.getRawType();
+      if(!raw.isInterface()) {
+        binder.addError("%s must be an interface to generate a factory", raw.getName());
+        return;
+      }
+      final Map<Method, FactoryMethod> methods = new LinkedHashMap<>();
+      boolean failed = false;
+      for(final Method method : raw.getMethods()) {
+        if(!Modifier.isAbstract(method.getModifiers()) || isObjectMethod(method)) {
+          continue;
+        }
+        final /* @Nullable */ FactoryMethod factoryMethod = this.method(binder, type, method);
+        if(factoryMethod != null) {
+          methods.put(method, factoryMethod);
+        } else {
+          failed = true;
+        }
+      }
+      if(failed) {
+        return;
+      }
+      /* @Nullable */ F factory = null;
+      if(methods.size() == 1) {
+        final Map.Entry<Method, FactoryMethod> method = methods.entrySet().iterator().next();
+        factory = FactoryMethod.lambda(raw, method.getKey(), method.getValue());
+      }
+      if(factory == null) {
+        final Map<Method, MethodHandle> defaultMethods = new HashMap<>();
+        for(final Method method : raw.getMethods()) {
+          if(method.isDefault()) {
+            try {
+              defaultMethods.put(method, FactoryMethod.privateLookup(method.getDeclaringClass()).unreflectSpecial(method, method.getDeclaringClass()));
+            } catch(final ReflectiveOperationException | RuntimeException e) {
+              binder.addError("Could not access default method %s, which a generated factory must be able to invoke: %s", method, e);
+              failed = true;
+            }
+          }
+        }
+        if(failed) {
+          return;
+        }
+        factory = proxy(raw, this.key, methods, defaultMethods);
+      }
+      binder.bind(this.key).toInstance(factory);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof FactoryModule && this.key.equals(((FactoryModule<?>) other).key) && this.implementations.equals(((FactoryModule<?>) other).implementations);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * this.key.hashCode() + this.implementations.hashCode();
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable FactoryMethod method(final Binder binder, final TypeLiteral<F> type, final Method method) {
+      final TypeLiteral<?> returnType = type.getReturnType(method);
+      final /* @Nullable */ Annotation qualifier = qualifier(method.getAnnotations());
+      final Key<?> returnKey = qualifier != null ? Key.get(returnType, qualifier) : Key.get(returnType);
+      final TypeLiteral<?> implementation = this.implementations.getOrDefault(returnKey, returnType);
+
+      final List<TypeLiteral<?>> parameterTypes = type.getParameterTypes(method);
+      final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+      final List<Map.Entry<TypeLiteral<?>, String>> assisted = new ArrayList<>(parameterTypes.size());
+      for(int i = 0; i < parameterTypes.size(); i++) {
+        final /* @Nullable */ Assisted annotation = assisted(parameterAnnotations[i]);
+        final Map.Entry<TypeLiteral<?>, String> parameter = Maps.immutableEntry(parameterTypes.get(i), annotation != null ? annotation.value() : "");
+        if(assisted.contains(parameter)) {
+          binder.addError("%s has more than one parameter of type %s with the same @Assisted value - annotate them with distinct @Assisted values", method, parameter.getKey());
+          return null;
+        }
+        assisted.add(parameter);
+      }
+
+      for(final Constructor<?> constructor : implementation.getRawType().getDeclaredConstructors()) {
+        if(!constructor.isAnnotationPresent(com.google.inject.Inject.class) && !constructor.isAnnotationPresent(javax.inject.Inject.class) && !constructor.isAnnotationPresent(AssistedInject.class)) {
+          continue;
+        }
+        final /* @Nullable */ int[] arguments = arguments(implementation, constructor, assisted);
+        if(arguments == null) {
+          continue;
+        }
+        final List<TypeLiteral<?>> constructorTypes = implementation.getParameterTypes(constructor);
+        final Annotation[][] constructorAnnotations = constructor.getParameterAnnotations();
+        final Provider<?>[] providers = new Provider<?>[arguments.length];
+        for(int i = 0; i < arguments.length; i++) {
+          if(arguments[i] < 0) {
+            final /* @Nullable */ Annotation constructorQualifier = qualifier(constructorAnnotations[i]);
+            final Key<?> parameterKey = constructorQualifier != null ? Key.get(constructorTypes.get(i), constructorQualifier) : Key.get(constructorTypes.get(i));
+            providers[i] = binder.getProvider(parameterKey);
+          }
+        }
+        final MethodHandle handle;
+        try {
+          constructor.setAccessible(true);
+          handle = MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch(final IllegalAccessException | RuntimeException e) {
+          binder.addError("Could not access %s: %s", constructor, e);
+          return null;
+        }
+        final /* @Nullable */ MembersInjector<Object> members = InjectionPoint.forInstanceMethodsAndFields(implementation).isEmpty() ? null : (MembersInjector<Object>) binder.getMembersInjector(implementation);
+        return new FactoryMethod(constructor, handle, arguments, providers, members);
+      }
+      binder.addError("No constructor of %s annotated with @Inject or @AssistedInject has @Assisted parameters matching %s", implementation, method);
+      return null;
+    }
+
+    // the index of the factory method argument for each constructor parameter, or -1 if provided
+    private static @Nullable int[] arguments(final TypeLiteral<?> implementation, final Constructor<?> constructor, final List<Map.Entry<TypeLiteral<?>, String>> assisted) {
+      final List<TypeLiteral<?>> types = implementation.getParameterTypes(constructor);
+      final Annotation[][] annotations = constructor.getParameterAnnotations();
+      final int[] arguments = new int[types.size()];
+      final boolean[] used = new boolean[assisted.size()];
+      int matched = 0;
+      for(int i = 0; i < arguments.length; i++) {
+        final /* @Nullable */ Assisted annotation = assisted(annotations[i]);
+        if(annotation == null) {
+          arguments[i] = -1;
+          continue;
+        }
+        final Map.Entry<TypeLiteral<?>, String> parameter = Maps.immutableEntry(types.get(i), annotation.value());
+        int index = -1;
+        for(int j = 0; j < assisted.size(); j++) {
+          if(!used[j] && assisted.get(j).equals(parameter)) {
+            index = j;
+            break;
+          }
+        }
+        if(index < 0) {
+          return null;
+        }
+        used[index] = true;
+        arguments[i] = index;
+        matched++;
+      }
+      return matched == assisted.size() ? arguments : null;
+    }
+
+    private static @Nullable Assisted assisted(final Annotation[] annotations) {
+      for(final Annotation annotation : annotations) {
+        if(annotation instanceof Assisted) {
+          return (Assisted) annotation;
+        }
+      }
+      return null;
+    }
+
+    private static @Nullable Annotation qualifier(final Annotation[] annotations) {
+      for(final Annotation annotation : annotations) {
+        final Class<? extends Annotation> type = annotation.annotationType();
+        if(type != Assisted.class && (type.isAnnotationPresent(BindingAnnotation.class) || type.isAnnotationPresent(Qualifier.class))) {
+          return annotation;
+        }
+      }
+      return null;
+    }
+
+    private static boolean isObjectMethod(final Method method) {
+      try {
+        Object.class.getMethod(method.getName(), method.getParameterTypes());
+        return true;
+      } catch(final NoSuchMethodException e) {
+        return false;
+      }
+    }
+
+    private static <F> F proxy(final Class<F> type, final Key<F> key, final Map<Method, FactoryMethod> methods, final Map<Method, MethodHandle> defaultMethods) {
+      final Object[] noArguments = new Object[0];
+      return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+        final /* @Nullable */ FactoryMethod factoryMethod = methods.get(method);
+        if(factoryMethod != null) {
+          return factoryMethod.create(args != null ? args : noArguments);
+        }
+        final /* @Nullable */ MethodHandle defaultMethod = defaultMethods.get(method);
+        if(defaultMethod != null) {
+          return defaultMethod.bindTo(proxy).invokeWithArguments(args != null ? args : noArguments);
+        }
+        switch(method.getName()) {
+          case "equals": return proxy == args[0];
+          case "hashCode": return System.identityHashCode(proxy);
+          case "toString": return "GeneratedFactory{" + key + '}';
+          default: throw new UnsupportedOperationException(method.toString());
+        }
+      }));
+    }
+  }
+}
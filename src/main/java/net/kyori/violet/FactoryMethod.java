@@ -0,0 +1,353 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.MembersInjector;
+import com.google.inject.ProvisionException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import javax.inject.Provider;
+
+/**
+ * The implementation of a single method of a generated factory.
+ *
+ * <p>When the arguments of the factory method can be passed to the constructor of the implementation as-is, and
+ * nothing else needs to be injected, the factory calls the constructor directly. Otherwise, the constructor is
+ * invoked through a {@link MethodHandle} which takes the arguments of the factory method, and gets the remaining
+ * arguments from providers.</p>
+ */
+final class FactoryMethod {
+  static final int MAXIMUM_ARITY = 8;
+  private static final MethodHandle PROVIDER_GET;
+  private static final MethodHandle INJECT_MEMBERS;
+
+  static {
+    final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      PROVIDER_GET = lookup.findVirtual(Provider.class, "get", MethodType.methodType(Object.class));
+      INJECT_MEMBERS = lookup.findStatic(FactoryMethod.class, "injectMembers", MethodType.methodType(Object.class, MembersInjector.class, Object.class));
+    } catch(final NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Constructor<?> constructor;
+  private final boolean direct;
+  // (Object, ...)Object - takes the arguments of the factory method
+  private final MethodHandle invoker;
+  // (Object[])Object
+  private final MethodHandle spreader;
+
+  /**
+   * Creates a factory method.
+   *
+   * @param constructor the constructor of the implementation
+   * @param handle a handle to the constructor
+   * @param arguments for each constructor parameter, the index of the factory method argument, or {@code -1} if provided
+   * @param providers for each constructor parameter, the provider, or {@code null} if not provided
+   * @param members the members injector of the implementation, or {@code null} if it has nothing to inject
+   */
+  FactoryMethod(final @NonNull Constructor<?> constructor, final @NonNull MethodHandle handle, final int @NonNull [] arguments, final @Nullable Provider<?> @NonNull [] providers, final @Nullable MembersInjector<Object> members) {
+    this.constructor = constructor;
+    this.direct = members == null && direct(arguments) && unchecked(constructor.getExceptionTypes());
+    MethodHandle invoker = handle.asType(handle.type().generic());
+    // bind the provided parameters, from last to first so that the indices of the others do not change
+    int arity = 0;
+    for(int i = arguments.length - 1; i >= 0; i--) {
+      if(arguments[i] < 0) {
+        invoker = MethodHandles.collectArguments(invoker, i, PROVIDER_GET.bindTo(providers[i]));
+      } else {
+        arity++;
+      }
+    }
+    // reorder the remaining parameters to match the factory method
+    final int[] reorder = new int[arity];
+    for(int i = 0, j = 0; i < arguments.length; i++) {
+      if(arguments[i] >= 0) {
+        reorder[j++] = arguments[i];
+      }
+    }
+    invoker = MethodHandles.permuteArguments(invoker, MethodType.genericMethodType(arity), reorder);
+    if(members != null) {
+      invoker = MethodHandles.filterReturnValue(invoker, INJECT_MEMBERS.bindTo(members));
+    }
+    this.invoker = invoker;
+    this.spreader = invoker.asSpreader(Object[].class, arity);
+  }
+
+  private static boolean direct(final int[] arguments) {
+    for(int i = 0; i < arguments.length; i++) {
+      if(arguments[i] != i) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean unchecked(final Class<?>[] exceptions) {
+    for(final Class<?> exception : exceptions) {
+      if(!RuntimeException.class.isAssignableFrom(exception) && !Error.class.isAssignableFrom(exception)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Creates an implementation of the single abstract method of {@code type} which calls {@code method}, using {@link LambdaMetafactory}.
+   *
+   * @param type the factory type
+   * @param abstractMethod the abstract method
+   * @param method the factory method
+   * @param <F> the factory type
+   * @return the factory, or {@code null} if the factory could not be created
+   */
+  static <F> @Nullable F lambda(final @NonNull Class<F> type, final @NonNull Method abstractMethod, final @NonNull FactoryMethod method) {
+    if(method.direct) {
+      final /* @Nullable */ F factory = direct(type, abstractMethod, method.constructor);
+      if(factory != null) {
+        return factory;
+      }
+    }
+    final int arity = abstractMethod.getParameterCount();
+    if(arity > MAXIMUM_ARITY || !visible(type) || !visible(abstractMethod.getReturnType()) || !visible(abstractMethod.getParameterTypes())) {
+      return null;
+    }
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      final MethodType samType = MethodType.methodType(abstractMethod.getReturnType(), abstractMethod.getParameterTypes());
+      final CallSite site = LambdaMetafactory.metafactory(
+        lookup,
+        abstractMethod.getName(),
+        MethodType.methodType(type, FactoryMethod.class),
+        samType,
+        lookup.findVirtual(FactoryMethod.class, "invoke" + arity, MethodType.genericMethodType(arity)),
+        samType
+      );
+      return type.cast(site.getTarget().invoke(method));
+    } catch(final Throwable t) {
+      // the factory type may not be accessible - fall back to a proxy
+      return null;
+    }
+  }
+
+  // a factory which calls the constructor directly, defined alongside the implementation
+  private static <F> @Nullable F direct(final Class<F> type, final Method abstractMethod, final Constructor<?> constructor) {
+    final Class<?> implementation = constructor.getDeclaringClass();
+    if(!accessible(implementation, type) || !accessible(implementation, abstractMethod.getReturnType()) || !accessible(implementation, abstractMethod.getParameterTypes())) {
+      return null;
+    }
+    try {
+      final MethodHandles.Lookup lookup = privateLookup(implementation);
+      final CallSite site = LambdaMetafactory.metafactory(
+        lookup,
+        abstractMethod.getName(),
+        MethodType.methodType(type),
+        MethodType.methodType(abstractMethod.getReturnType(), abstractMethod.getParameterTypes()),
+        lookup.unreflectConstructor(constructor),
+        MethodType.methodType(abstractMethod.getReturnType(), constructor.getParameterTypes())
+      );
+      return type.cast(site.getTarget().invoke());
+    } catch(final Throwable t) {
+      // the implementation may not be open to us
+      return null;
+    }
+  }
+
+  /**
+   * Creates a lookup with private access to {@code type}.
+   *
+   * @param type the type
+   * @return a lookup
+   * @throws ReflectiveOperationException if private access to the type is not permitted
+   */
+  static MethodHandles.@NonNull Lookup privateLookup(final @NonNull Class<?> type) throws ReflectiveOperationException {
+    try {
+      // Java 9+
+      final Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+      return (MethodHandles.Lookup) privateLookupIn.invoke(null, type, MethodHandles.lookup());
+    } catch(final NoSuchMethodException e) {
+      // Java 8
+      final Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+      constructor.setAccessible(true);
+      return constructor.newInstance(type, MethodHandles.Lookup.PUBLIC | MethodHandles.Lookup.PRIVATE | MethodHandles.Lookup.PROTECTED | MethodHandles.Lookup.PACKAGE);
+    }
+  }
+
+  // a class defined alongside the implementation may only refer to types the implementation can access
+  private static boolean accessible(final Class<?> implementation, final Class<?>... types) {
+    for(Class<?> type : types) {
+      while(type.isArray()) {
+        type = type.getComponentType();
+      }
+      if(type.isPrimitive()) {
+        continue;
+      }
+      if(Modifier.isPublic(type.getModifiers())) {
+        try {
+          if(Class.forName(type.getName(), false, implementation.getClassLoader()) != type) {
+            return false;
+          }
+        } catch(final ClassNotFoundException e) {
+          return false;
+        }
+      } else if(type.getClassLoader() != implementation.getClassLoader() || !packageName(type).equals(packageName(implementation))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String packageName(final Class<?> type) {
+    final String name = type.getName();
+    final int index = name.lastIndexOf('.');
+    return index < 0 ? "" : name.substring(0, index);
+  }
+
+  // the generated class is defined by our class loader, so the types it refers to must be visible to it
+  private static boolean visible(final Class<?>... types) {
+    for(Class<?> type : types) {
+      while(type.isArray()) {
+        type = type.getComponentType();
+      }
+      if(type.isPrimitive()) {
+        continue;
+      }
+      try {
+        if(Class.forName(type.getName(), false, FactoryMethod.class.getClassLoader()) != type) {
+          return false;
+        }
+      } catch(final ClassNotFoundException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Object injectMembers(final MembersInjector<Object> members, final Object instance) {
+    members.injectMembers(instance);
+    return instance;
+  }
+
+  private static RuntimeException rethrow(final Throwable t) {
+    if(t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    } else if(t instanceof Error) {
+      throw (Error) t;
+    }
+    return new ProvisionException("Could not create an instance with a generated factory", t);
+  }
+
+  Object create(final Object[] args) {
+    try {
+      return this.spreader.invokeExact(args);
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  // the targets of generated factories - one per arity, as LambdaMetafactory requires a direct method handle
+
+  Object invoke0() {
+    try {
+      return this.invoker.invokeExact();
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  Object invoke1(final Object a) {
+    try {
+      return this.invoker.invokeExact(a);
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  Object invoke2(final Object a, final Object b) {
+    try {
+      return this.invoker.invokeExact(a, b);
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  Object invoke3(final Object a, final Object b, final Object c) {
+    try {
+      return this.invoker.invokeExact(a, b, c);
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  Object invoke4(final Object a, final Object b, final Object c, final Object d) {
+    try {
+      return this.invoker.invokeExact(a, b, c, d);
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  Object invoke5(final Object a, final Object b, final Object c, final Object d, final Object e) {
+    try {
+      return this.invoker.invokeExact(a, b, c, d, e);
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  Object invoke6(final Object a, final Object b, final Object c, final Object d, final Object e, final Object f) {
+    try {
+      return this.invoker.invokeExact(a, b, c, d, e, f);
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  Object invoke7(final Object a, final Object b, final Object c, final Object d, final Object e, final Object f, final Object g) {
+    try {
+      return this.invoker.invokeExact(a, b, c, d, e, f, g);
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+
+  Object invoke8(final Object a, final Object b, final Object c, final Object d, final Object e, final Object f, final Object g, final Object h) {
+    try {
+      return this.invoker.invokeExact(a, b, c, d, e, f, g, h);
+    } catch(final Throwable t) {
+      throw rethrow(t);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.inject.Provider;
+
+/**
+ * A thread-safe {@link Lazy} which caches failures.
+ *
+ * <p>When the underlying provider throws, the exception is cached and rethrown by calls to {@link #get()}
+ * until a retry is due according to its {@link FailurePolicy}. Only one thread retries at a time - other
+ * threads calling {@link #get()} during a retry fail immediately with the cached exception.</p>
+ *
+ * @param <T> the type to provide
+ * @see FailurePolicy
+ */
+public final class FailureAwareLazy<T> extends Lazy<T> {
+  // a null provider indicates that the value has been loaded - the volatile write
+  // of the provider publishes the value written before it
+  private volatile @Nullable Provider<T> provider;
+  private T value;
+  private final FailurePolicy policy;
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile @Nullable Failure failure;
+
+  public FailureAwareLazy(final @NonNull Provider<T> provider, final @NonNull FailurePolicy policy) {
+    this.provider = provider;
+    this.policy = policy;
+  }
+
+  @Override
+  public T get() {
+    if(this.provider != null) {
+      this.load();
+    }
+    return this.value;
+  }
+
+  private void load() {
+    /* @Nullable */ Failure failure = this.failure;
+    if(failure != null) {
+      if(!failure.due() || !this.lock.tryLock()) {
+        throw this.reject(failure);
+      }
+    } else {
+      this.lock.lock();
+    }
+    try {
+      final /* @Nullable */ Provider<T> provider = this.provider;
+      if(provider == null) {
+        return;
+      }
+      // another thread may have failed while we were waiting for the lock
+      failure = this.failure;
+      if(failure != null && !failure.due()) {
+        throw this.reject(failure);
+      }
+      try {
+        this.value = provider.get();
+      } catch(final RuntimeException e) {
+        final int consecutive = failure != null ? failure.consecutive + 1 : 1;
+        this.failure = new Failure(e, consecutive, System.nanoTime() + this.policy.delay(consecutive));
+        this.policy.failed();
+        throw e;
+      }
+      this.failure = null;
+      this.provider = null;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private RuntimeException reject(final Failure failure) {
+    this.policy.rejected();
+    return failure.exception;
+  }
+
+  /**
+   * Gets the number of consecutive failed provisions.
+   *
+   * @return the number of consecutive failed provisions
+   */
+  public int consecutiveFailures() {
+    final /* @Nullable */ Failure failure = this.failure;
+    return failure != null ? failure.consecutive : 0;
+  }
+
+  /**
+   * Gets the most recent failure, if the value has not been loaded since.
+   *
+   * @return the most recent failure
+   */
+  public @Nullable RuntimeException lastFailure() {
+    final /* @Nullable */ Failure failure = this.failure;
+    return failure != null ? failure.exception : null;
+  }
+
+  private static final class Failure {
+    final RuntimeException exception;
+    final int consecutive;
+    // in System.nanoTime() units
+    final long retryAt;
+
+    Failure(final RuntimeException exception, final int consecutive, final long retryAt) {
+      this.exception = exception;
+      this.consecutive = consecutive;
+      this.retryAt = retryAt;
+    }
+
+    boolean due() {
+      return System.nanoTime() - this.retryAt >= 0;
+    }
+  }
+}
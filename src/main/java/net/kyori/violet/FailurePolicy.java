@@ -0,0 +1,108 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A policy for handling failed provisions of a {@link FailureAwareLazy}.
+ *
+ * <p>A failure is cached, and rethrown without calling the provider, until a retry is due. The delay before a
+ * retry starts at an initial delay and doubles with each consecutive failure, up to a maximum delay.</p>
+ *
+ * <p>A policy may be shared between many lazies, and counts the failures of all of them.</p>
+ *
+ * @see VBinder#bindLazy(com.google.inject.Key, FailurePolicy)
+ */
+public final class FailurePolicy {
+  private final long initialDelay;
+  private final long maximumDelay;
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+
+  private FailurePolicy(final long initialDelay, final long maximumDelay) {
+    this.initialDelay = initialDelay;
+    this.maximumDelay = maximumDelay;
+  }
+
+  /**
+   * Creates a failure policy with exponential backoff.
+   *
+   * @param initialDelay the delay before retrying after the first failure
+   * @param maximumDelay the maximum delay before retrying
+   * @return a failure policy
+   */
+  public static @NonNull FailurePolicy backoff(final @NonNull Duration initialDelay, final @NonNull Duration maximumDelay) {
+    checkArgument(!initialDelay.isNegative(), "initial delay must not be negative");
+    checkArgument(maximumDelay.compareTo(initialDelay) >= 0, "maximum delay must not be less than initial delay");
+    return new FailurePolicy(initialDelay.toNanos(), maximumDelay.toNanos());
+  }
+
+  /**
+   * Gets the number of failed provisions.
+   *
+   * @return the number of failed provisions
+   */
+  public long failures() {
+    return this.failures.sum();
+  }
+
+  /**
+   * Gets the number of calls which failed with a cached failure, without calling the provider.
+   *
+   * @return the number of calls which failed with a cached failure
+   */
+  public long rejections() {
+    return this.rejections.sum();
+  }
+
+  /**
+   * Gets the delay before retrying, in nanoseconds.
+   *
+   * @param consecutiveFailures the number of consecutive failures, at least {@code 1}
+   * @return the delay before retrying
+   */
+  long delay(final int consecutiveFailures) {
+    final int shift = Math.min(consecutiveFailures - 1, 62);
+    final long delay = this.initialDelay << shift;
+    // detect overflow of the shift
+    if(delay >>> shift != this.initialDelay) {
+      return this.maximumDelay;
+    }
+    return Math.min(delay, this.maximumDelay);
+  }
+
+  void failed() {
+    this.failures.increment();
+  }
+
+  void rejected() {
+    this.rejections.increment();
+  }
+}
@@ -23,6 +23,8 @@
  */
 package net.kyori.violet;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.reflect.TypeParameter;
 import com.google.common.reflect.TypeToken;
 import com.google.inject.TypeLiteral;
@@ -30,6 +32,8 @@ import com.google.inject.util.Types;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Represents a generic type {@code T}.
@@ -39,21 +43,54 @@ import java.lang.reflect.Type;
  * @param <T> the type
  */
 public abstract class FriendlyTypeLiteral<T> extends TypeLiteral<T> {
+  // resolved type literals per literal class (which declares the type), keyed by each type variable and its actual type.
+  // held by a class value rather than a static map, so that the cache does not keep the declaring class reachable
+  private static final ClassValue<Cache<List<Type>, TypeLiteral<?>>> RESOLVED = new ClassValue<Cache<List<Type>, TypeLiteral<?>>>() {
+    @Override
+    protected Cache<List<Type>, TypeLiteral<?>> computeValue(final Class<?> type) {
+      return CacheBuilder.newBuilder()
+        .maximumSize(64)
+        .softValues()
+        .build();
+    }
+  };
+
   /**
    * Creates a type literal by substituting formal type variables with the given actual type arguments.
    *
+   * <p>Resolved type literals are memoized, so repeated substitutions of the same type arguments into the same
+   * declared type do not need to be resolved again.</p>
+   *
    * @param args the actual type arguments
    * @return a type literal
    * @see Types#newParameterizedType(Type, Type...)
    * @see TypeToken#where(TypeParameter, TypeToken)
    */
   // https://github.com/google/guice/issues/657
+  @SuppressWarnings("unchecked")
   public @NonNull TypeLiteral<T> where(final @NonNull TypeArgument<?>... args) {
+    final Type[] key = new Type[args.length * 2];
+    for(int i = 0; i < args.length; i++) {
+      key[i * 2] = args[i].variable;
+      key[1 + i * 2] = args[i].actual.getType();
+    }
+    final List<Type> resolution = Arrays.asList(key);
+    final Cache<List<Type>, TypeLiteral<?>> cache = RESOLVED.get(this.getClass());
+    final /* @Nullable */ TypeLiteral<?> cached = cache.getIfPresent(resolution);
+    if(cached != null) {
+      return (TypeLiteral<T>) cached;
+    }
+    final TypeLiteral<T> resolved = this.resolve(args);
+    cache.put(resolution, resolved);
+    return resolved;
+  }
+
+  private @NonNull TypeLiteral<T> resolve(final @NonNull TypeArgument<?>... args) {
     // convert this literal into a token so we can use the type resolver
     TypeToken<T> token = EvenMoreTypes.token(this);
     for(final TypeArgument arg : args) {
       token = token.where(arg, arg.actual);
     }
-    return EvenMoreTypes.literal(token);
+    return EvenMoreTypes.canonicalLiteral(token.getType());
   }
 }
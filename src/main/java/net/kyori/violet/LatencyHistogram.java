@@ -0,0 +1,163 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies, in nanoseconds.
+ *
+ * <p>Latencies are counted in power-of-two buckets. Each bucket is a {@link LongAdder}, which stripes
+ * contended updates across cells, so concurrent recording does not contend on a single counter.</p>
+ */
+public final class LatencyHistogram {
+  private static final int BUCKETS = Long.SIZE;
+  private final LongAdder[] buckets = new LongAdder[BUCKETS];
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  LatencyHistogram() {
+    for(int i = 0; i < BUCKETS; i++) {
+      this.buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a latency.
+   *
+   * @param nanos the latency, in nanoseconds
+   */
+  void record(final long nanos) {
+    final long value = Math.max(0, nanos);
+    // bucket n holds values in [2^(n-1), 2^n)
+    this.buckets[Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(value))].increment();
+    this.sum.add(value);
+    this.max.accumulate(value);
+  }
+
+  /**
+   * Takes a snapshot of this histogram.
+   *
+   * @return a snapshot
+   */
+  public @NonNull Snapshot snapshot() {
+    final long[] counts = new long[BUCKETS];
+    for(int i = 0; i < BUCKETS; i++) {
+      counts[i] = this.buckets[i].sum();
+    }
+    return new Snapshot(counts, this.sum.sum(), this.max.get());
+  }
+
+  /**
+   * A point-in-time view of a {@link LatencyHistogram}.
+   *
+   * <p>As recording is not paused while a snapshot is taken, the values of a snapshot may be
+   * very slightly inconsistent with each other.</p>
+   */
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    Snapshot(final long[] counts, final long sum, final long max) {
+      this.counts = counts;
+      long count = 0;
+      for(final long bucket : counts) {
+        count += bucket;
+      }
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long count() {
+      return this.count;
+    }
+
+    /**
+     * Gets the sum of all recorded latencies, in nanoseconds.
+     *
+     * @return the sum of all recorded latencies
+     */
+    public long sum() {
+      return this.sum;
+    }
+
+    /**
+     * Gets the maximum recorded latency, in nanoseconds.
+     *
+     * @return the maximum recorded latency
+     */
+    public long max() {
+      return this.max;
+    }
+
+    /**
+     * Gets the mean recorded latency, in nanoseconds.
+     *
+     * @return the mean recorded latency
+     */
+    public double mean() {
+      return this.count == 0 ? 0 : this.sum / (double) this.count;
+    }
+
+    /**
+     * Estimates a percentile of the recorded latencies, in nanoseconds.
+     *
+     * <p>The estimate is the upper bound of the bucket containing the percentile, and so
+     * may overestimate by up to a factor of two.</p>
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the estimated percentile
+     */
+    public long percentile(final double percentile) {
+      if(this.count == 0) {
+        return 0;
+      }
+      final long rank = Math.max(1, (long) Math.ceil(this.count * (percentile / 100d)));
+      long seen = 0;
+      for(int i = 0; i < BUCKETS; i++) {
+        seen += this.counts[i];
+        if(seen >= rank) {
+          return Math.min(this.max, i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+        }
+      }
+      return this.max;
+    }
+
+    @Override
+    public String toString() {
+      return "Snapshot{count=" + this.count + ", mean=" + (long) this.mean() + "ns, p50=" + this.percentile(50) + "ns, p99=" + this.percentile(99) + "ns, max=" + this.max + "ns}";
+    }
+  }
+}
@@ -24,6 +24,7 @@
 package net.kyori.violet;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.function.Supplier;
 
@@ -34,15 +35,17 @@ import javax.inject.Provider;
  * A lazily-loaded dependency.
  *
  * <p>A {@code Lazy} loads its value on the first call to {@link #get()}, and remembers that value for
- * all subsequent calls to {@link #get()}.</p>
+ * all subsequent calls to {@link #get()}. Once loaded, the underlying provider is released.</p>
+ *
+ * <p>A {@code Lazy} created through a public constructor is not thread-safe - see {@link Mode#CONCURRENT}
+ * for a variant that may be shared between threads.</p>
  *
  * @param <T> the type to provide
  */
 // https://github.com/google/guice/issues/852
 public class Lazy<T> implements Provider<T>, Supplier<T> {
-  private final Provider<T> provider;
+  private @Nullable Provider<T> provider;
   private T value;
-  private boolean loaded;
 
   public Lazy(final @NonNull Supplier<T> supplier) {
     this((Provider<T>) supplier::get);
@@ -53,12 +56,55 @@ public class Lazy<T> implements Provider<T>, Supplier<T> {
     this.provider = provider;
   }
 
+  // for subclasses which manage their own state
+  Lazy() {
+  }
+
   @Override
   public T get() {
-    if(!this.loaded) {
-      this.value = this.provider.get();
-      this.loaded = true;
+    final /* @Nullable */ Provider<T> provider = this.provider;
+    if(provider != null) {
+      this.value = provider.get();
+      this.provider = null;
     }
     return this.value;
   }
+
+  /**
+   * The thread-safety mode of a {@link Lazy}.
+   */
+  public enum Mode {
+    /**
+     * A lazy which performs no synchronization.
+     *
+     * <p>If multiple threads call {@link Lazy#get()} before a value has been loaded, the underlying
+     * provider may be called more than once.</p>
+     */
+    UNSYNCHRONIZED {
+      @Override
+      public <T> @NonNull Lazy<T> create(final @NonNull Provider<T> provider) {
+        return new Lazy<>(provider);
+      }
+    },
+    /**
+     * A lazy which may be safely shared between threads.
+     *
+     * <p>The underlying provider is called at most once, and reads of a loaded value do not lock.</p>
+     */
+    CONCURRENT {
+      @Override
+      public <T> @NonNull Lazy<T> create(final @NonNull Provider<T> provider) {
+        return new ConcurrentLazy<>(provider);
+      }
+    };
+
+    /**
+     * Creates a lazy using this mode.
+     *
+     * @param provider the provider
+     * @param <T> the type to provide
+     * @return a lazy
+     */
+    public abstract <T> @NonNull Lazy<T> create(final @NonNull Provider<T> provider);
+  }
 }
@@ -26,42 +26,97 @@ package net.kyori.violet;
 import com.google.inject.Binder;
 import com.google.inject.Key;
 import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.TypeLiteral;
 import com.google.inject.binder.AnnotatedBindingBuilder;
 import com.google.inject.binder.LinkedBindingBuilder;
+import com.google.inject.binder.ScopedBindingBuilder;
 import net.kyori.violet.builder.ForwardingLinkedBindingBuilder;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
-final class LazyBindingBuilder<T> implements AnnotatedBindingBuilder<T>, ForwardingLinkedBindingBuilder<T> {
+/**
+ * A binding builder which binds {@code T}, and a lazy holder {@code L} of {@code T}.
+ *
+ * @param <T> the type
+ * @param <L> the lazy holder type
+ */
+final class LazyBindingBuilder<T, L> implements AnnotatedBindingBuilder<T>, ForwardingLinkedBindingBuilder<T> {
   private final Binder binder;
-  private final AnnotatedBindingBuilder<Lazy<T>> builder;
+  private final TypeLiteral<L> type;
   private final Key<T> key;
+  private final Function<Provider<T>, L> factory;
+  // if a single holder should be shared by all injection points
+  private final boolean shared;
+
+  private LazyBindingBuilder(final Binder binder, final TypeLiteral<L> type, final Key<T> key, final Function<Provider<T>, L> factory) {
+    this(binder, type, key, factory, false);
+  }
 
-  LazyBindingBuilder(final Binder binder, final Key<T> key) {
+  private LazyBindingBuilder(final Binder binder, final TypeLiteral<L> type, final Key<T> key, final Function<Provider<T>, L> factory, final boolean shared) {
     this.binder = binder.skipSources(LazyBindingBuilder.class);
-    this.builder = this.binder.bind(new FriendlyTypeLiteral<Lazy<T>>() {}.where(new TypeArgument<T>(key) {}));
+    this.type = type;
     this.key = key;
+    this.factory = factory;
+    this.shared = shared;
+  }
+
+  static <T> @NonNull LazyBindingBuilder<T, Lazy<T>> lazy(final @NonNull Binder binder, final @NonNull Key<T> key, final Lazy.@NonNull Mode mode) {
+    return lazy(binder, key, mode::create);
+  }
+
+  static <T> @NonNull LazyBindingBuilder<T, Lazy<T>> lazy(final @NonNull Binder binder, final @NonNull Key<T> key, final @NonNull Function<Provider<T>, Lazy<T>> factory) {
+    return new LazyBindingBuilder<>(binder, new FriendlyTypeLiteral<Lazy<T>>() {}.where(new TypeArgument<T>(key) {}), key, factory);
+  }
+
+  static <T> @NonNull LazyBindingBuilder<T, Lazy<T>> failureAware(final @NonNull Binder binder, final @NonNull Key<T> key, final @NonNull FailurePolicy policy) {
+    // shared, so that all injection points see the same cached failure and retry schedule
+    return new LazyBindingBuilder<>(binder, new FriendlyTypeLiteral<Lazy<T>>() {}.where(new TypeArgument<T>(key) {}), key, provider -> new FailureAwareLazy<>(provider, policy), true);
+  }
+
+  static <T> @NonNull LazyBindingBuilder<T, AsyncLazy<T>> async(final @NonNull Binder binder, final @NonNull Key<T> key, final @NonNull Executor executor) {
+    return new LazyBindingBuilder<>(binder, new FriendlyTypeLiteral<AsyncLazy<T>>() {}.where(new TypeArgument<T>(key) {}), key, provider -> {
+      final AsyncLazy<T> lazy = new AsyncLazy<>(provider, executor);
+      lazy.prefetch();
+      return lazy;
+    });
+  }
+
+  static <T> @NonNull LazyBindingBuilder<T, RefreshingLazy<T>> refreshing(final @NonNull Binder binder, final @NonNull Key<T> key, final @NonNull Duration ttl, final @NonNull Executor executor) {
+    // shared, so that all injection points see the same value and refresh schedule
+    return new LazyBindingBuilder<>(binder, new FriendlyTypeLiteral<RefreshingLazy<T>>() {}.where(new TypeArgument<T>(key) {}), key, provider -> new RefreshingLazy<>(provider, ttl, executor), true);
+  }
+
+  static <T, L> @NonNull LazyBindingBuilder<T, L> of(final @NonNull Binder binder, final @NonNull Class<L> type, final @NonNull Key<T> key, final @NonNull Function<Provider<T>, L> factory) {
+    return new LazyBindingBuilder<>(binder, TypeLiteral.get(type), key, factory);
   }
 
   @Override
   public @NonNull LinkedBindingBuilder<T> builder() {
-    return this.binder.bind(this.key);
+    return this.bind(this.binder.bind(this.type), this.key);
   }
 
   @Override
   public LinkedBindingBuilder<T> annotatedWith(final Class<? extends Annotation> annotationType) {
-    return this.annotatedWith(this.builder.annotatedWith(annotationType), Key.get(this.key.getTypeLiteral(), annotationType));
+    return this.bind(this.binder.bind(this.type).annotatedWith(annotationType), Key.get(this.key.getTypeLiteral(), annotationType));
   }
 
   @Override
   public LinkedBindingBuilder<T> annotatedWith(final Annotation annotation) {
-    return this.annotatedWith(this.builder.annotatedWith(annotation), Key.get(this.key.getTypeLiteral(), annotation));
+    return this.bind(this.binder.bind(this.type).annotatedWith(annotation), Key.get(this.key.getTypeLiteral(), annotation));
   }
 
-  private LinkedBindingBuilder<T> annotatedWith(final LinkedBindingBuilder<Lazy<T>> builder, final Key<T> key) {
+  private LinkedBindingBuilder<T> bind(final LinkedBindingBuilder<L> builder, final Key<T> key) {
     final Provider<T> provider = this.binder.getProvider(key);
-    builder.toProvider(() -> new Lazy<>(provider));
-    return (ForwardingLinkedBindingBuilder<T>) () -> this.binder.bind(key);
+    final Function<Provider<T>, L> factory = this.factory;
+    final ScopedBindingBuilder scoped = builder.toProvider(() -> factory.apply(provider));
+    if(this.shared) {
+      scoped.in(Scopes.SINGLETON);
+    }
+    return this.binder.bind(key);
   }
 }
@@ -0,0 +1,192 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableList;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A group of {@link Lazy} values which are resolved in parallel.
+ *
+ * <p>Resolving a group loads each of its lazies on an {@link Executor}, so the time taken is that of the slowest
+ * lazy rather than the sum of all of them. Once a group has been resolved, the values of its lazies are visible
+ * to the thread which waited for the resolution.</p>
+ *
+ * <p>A group should be resolved before its lazies are shared with other threads, unless they are
+ * {@link Lazy.Mode#CONCURRENT concurrent}.</p>
+ */
+public final class LazyGroup {
+  private static final ClassValue<Field[]> FIELDS = new ClassValue<Field[]>() {
+    @Override
+    protected Field[] computeValue(final Class<?> type) {
+      final List<Field> fields = new ArrayList<>();
+      for(Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+        for(final Field field : current.getDeclaredFields()) {
+          if(!Modifier.isStatic(field.getModifiers()) && Lazy.class.isAssignableFrom(field.getType())) {
+            field.setAccessible(true);
+            fields.add(field);
+          }
+        }
+      }
+      return fields.toArray(new Field[0]);
+    }
+  };
+  private final List<Lazy<?>> lazies;
+
+  private LazyGroup(final List<Lazy<?>> lazies) {
+    this.lazies = lazies;
+  }
+
+  /**
+   * Creates a group of lazies.
+   *
+   * @param lazies the lazies
+   * @return a group
+   */
+  public static @NonNull LazyGroup of(final @NonNull Lazy<?>... lazies) {
+    return new LazyGroup(ImmutableList.copyOf(lazies));
+  }
+
+  /**
+   * Creates a group of lazies.
+   *
+   * @param lazies the lazies
+   * @return a group
+   */
+  public static @NonNull LazyGroup of(final @NonNull Iterable<? extends Lazy<?>> lazies) {
+    return new LazyGroup(ImmutableList.copyOf(lazies));
+  }
+
+  /**
+   * Creates a group of the {@link Lazy} fields of an object, such as those injected into it.
+   *
+   * @param object the object
+   * @return a group
+   */
+  public static @NonNull LazyGroup fields(final @NonNull Object object) {
+    final Field[] fields = FIELDS.get(object.getClass());
+    final List<Lazy<?>> lazies = new ArrayList<>(fields.length);
+    try {
+      for(final Field field : fields) {
+        final /* @Nullable */ Lazy<?> lazy = (Lazy<?>) field.get(object);
+        if(lazy != null) {
+          lazies.add(lazy);
+        }
+      }
+    } catch(final IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+    return new LazyGroup(lazies);
+  }
+
+  /**
+   * Gets the lazies in this group.
+   *
+   * @return the lazies
+   */
+  public @NonNull List<Lazy<?>> lazies() {
+    return this.lazies;
+  }
+
+  /**
+   * Resolves the lazies in this group on {@code executor}.
+   *
+   * @param executor the executor
+   * @return a future completed once all lazies have been resolved, or exceptionally if any failed
+   */
+  public @NonNull CompletableFuture<Void> resolve(final @NonNull Executor executor) {
+    final CompletableFuture<?>[] futures = new CompletableFuture<?>[this.lazies.size()];
+    for(int i = 0, size = this.lazies.size(); i < size; i++) {
+      final Lazy<?> lazy = this.lazies.get(i);
+      futures[i] = CompletableFuture.runAsync(() -> resolve(lazy), executor);
+    }
+    return CompletableFuture.allOf(futures);
+  }
+
+  /**
+   * Resolves the lazies in this group on the {@link ForkJoinPool#commonPool() common pool}, blocking until all have been resolved.
+   *
+   * <p>Provisions are run as {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker) managed blocks}, so the
+   * common pool may add threads while they block. Provisions which block for long, such as on I/O, should instead be
+   * {@link #resolve(Executor) resolved on a dedicated executor}.</p>
+   *
+   * <p>If any lazy fails to resolve, its exception is rethrown once all lazies have completed.</p>
+   */
+  public void resolve() {
+    if(this.lazies.size() == 1) {
+      this.lazies.get(0).get();
+      return;
+    }
+    try {
+      this.resolve(ForkJoinPool.commonPool()).join();
+    } catch(final CompletionException e) {
+      final /* @Nullable */ Throwable cause = e.getCause();
+      if(cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if(cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  // resolves a lazy, allowing a fork join pool to compensate for the blocked thread
+  private static void resolve(final Lazy<?> lazy) {
+    block(lazy::get);
+  }
+
+  // runs a blocking task, allowing a fork join pool to compensate for the blocked thread
+  static void block(final Runnable task) {
+    try {
+      ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+        private boolean done;
+
+        @Override
+        public boolean block() {
+          task.run();
+          this.done = true;
+          return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+          return this.done;
+        }
+      });
+    } catch(final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(e);
+    }
+  }
+}
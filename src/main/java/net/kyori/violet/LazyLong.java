@@ -0,0 +1,70 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.function.LongSupplier;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ * A lazily-loaded {@code long} dependency.
+ *
+ * <p>A {@code LazyLong} loads its value on the first call to {@link #getAsLong()}, and remembers that value for
+ * all subsequent calls without boxing. Once loaded, the underlying provider is released.</p>
+ *
+ * <p>A {@code LazyLong} may be safely shared between threads - the underlying provider is called at most once,
+ * and reads of a loaded value do not lock.</p>
+ *
+ * @see Lazy
+ * @see VBinder#bindLazyLong(com.google.inject.Key)
+ */
+public final class LazyLong implements LongSupplier {
+  // a null provider indicates that the value has been loaded - the volatile write
+  // of the provider publishes the value written before it
+  private volatile @Nullable Provider<Long> provider;
+  private long value;
+
+  @Inject
+  public LazyLong(final @NonNull Provider<Long> provider) {
+    this.provider = provider;
+  }
+
+  @Override
+  public long getAsLong() {
+    if(this.provider != null) {
+      synchronized(this) {
+        final /* @Nullable */ Provider<Long> provider = this.provider;
+        if(provider != null) {
+          this.value = provider.get();
+          this.provider = null;
+        }
+      }
+    }
+    return this.value;
+  }
+}
@@ -0,0 +1,386 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Scope;
+import com.google.inject.spi.DefaultBindingScopingVisitor;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.HasDependencies;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Instantiates the {@link LazySingleton lazy singletons} of an {@link Injector} ahead of time.
+ *
+ * <p>Lazy singletons which do not depend on each other are instantiated in parallel, while lazy singletons
+ * are instantiated only after the lazy singletons they depend on.</p>
+ *
+ * <p>Lazy singletons can also be {@link #warmInBackground(BooleanSupplier) warmed in the background} once the
+ * injector is ready, one at a time on a low-priority thread which pauses while the application is busy.</p>
+ */
+public final class LazySingletonWarmer {
+  private final Injector injector;
+  // lazy singleton key -> the lazy singleton keys it depends on, directly or through other bindings
+  private final Map<Key<?>, Set<Key<?>>> graph;
+
+  private LazySingletonWarmer(final Injector injector, final Map<Key<?>, Set<Key<?>>> graph) {
+    this.injector = injector;
+    this.graph = graph;
+  }
+
+  /**
+   * Creates a warmer for the lazy singletons bound in {@code injector}.
+   *
+   * @param injector the injector
+   * @return a warmer
+   */
+  public static @NonNull LazySingletonWarmer of(final @NonNull Injector injector) {
+    final Map<Key<?>, Set<Key<?>>> graph = new LinkedHashMap<>();
+    for(final Binding<?> binding : injector.getAllBindings().values()) {
+      if(isLazySingleton(binding)) {
+        final Set<Key<?>> dependencies = new LinkedHashSet<>();
+        collectDependencies(injector, binding, dependencies, new HashSet<>());
+        dependencies.remove(binding.getKey());
+        graph.put(binding.getKey(), dependencies);
+      }
+    }
+    return new LazySingletonWarmer(injector, graph);
+  }
+
+  /**
+   * Gets the keys of the lazy singletons this warmer will instantiate.
+   *
+   * @return the keys
+   */
+  public @NonNull Set<Key<?>> keys() {
+    return Collections.unmodifiableSet(this.graph.keySet());
+  }
+
+  /**
+   * Instantiates all lazy singletons on the {@link ForkJoinPool#commonPool() common pool}, waiting for completion.
+   *
+   * <p>Instantiations are run as {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker) managed blocks}, so the
+   * common pool may add threads while they block. Lazy singletons which block for long, such as on I/O, should instead
+   * be {@link #warm(Executor) warmed on a dedicated executor}.</p>
+   *
+   * @return a report
+   */
+  public @NonNull Report warm() {
+    return this.warm(ForkJoinPool.commonPool()).join();
+  }
+
+  /**
+   * Instantiates all lazy singletons on {@code executor}.
+   *
+   * <p>Instantiations are run as {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker) managed blocks}, so a
+   * {@link ForkJoinPool} executor may add threads while they block.</p>
+   *
+   * @param executor the executor
+   * @return a future completed with a report once all lazy singletons have been instantiated
+   */
+  public @NonNull CompletableFuture<Report> warm(final @NonNull Executor executor) {
+    final long start = System.nanoTime();
+    final Map<Key<?>, Duration> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+    final Map<Key<?>, Throwable> failures = new ConcurrentHashMap<>();
+    final Map<Key<?>, CompletableFuture<Void>> futures = new HashMap<>();
+    for(final Key<?> key : this.graph.keySet()) {
+      this.schedule(key, executor, futures, new HashSet<>(), timings, failures);
+    }
+    return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+      .thenApply(ignored -> new Report(timings, failures, Duration.ofNanos(System.nanoTime() - start)));
+  }
+
+  /**
+   * Instantiates all lazy singletons in the background, pausing while {@code busy} reports the application is busy.
+   *
+   * <p>Lazy singletons are instantiated one at a time, after the lazy singletons they depend on, on a daemon thread
+   * of {@link Thread#MIN_PRIORITY minimum priority}. {@code busy} is checked before each lazy singleton, and every
+   * {@code 100} milliseconds while it reports the application is busy.</p>
+   *
+   * @param busy reports whether the application is busy
+   * @return the background warming
+   */
+  public @NonNull Background warmInBackground(final @NonNull BooleanSupplier busy) {
+    return this.warmInBackground(busy, Duration.ofMillis(100), runnable -> {
+      final Thread thread = new Thread(runnable, "violet-lazy-singleton-warmer");
+      thread.setDaemon(true);
+      thread.setPriority(Thread.MIN_PRIORITY);
+      return thread;
+    });
+  }
+
+  /**
+   * Instantiates all lazy singletons in the background, pausing while {@code busy} reports the application is busy.
+   *
+   * <p>Lazy singletons are instantiated one at a time, after the lazy singletons they depend on, on a thread
+   * created by {@code factory}. {@code busy} is checked before each lazy singleton, and every {@code pollInterval}
+   * while it reports the application is busy.</p>
+   *
+   * @param busy reports whether the application is busy
+   * @param pollInterval the interval to check {@code busy} at while the application is busy
+   * @param factory the factory of the warming thread
+   * @return the background warming
+   */
+  public @NonNull Background warmInBackground(final @NonNull BooleanSupplier busy, final @NonNull Duration pollInterval, final @NonNull ThreadFactory factory) {
+    final Background background = new Background(this.injector, this.order(), busy, pollInterval.toNanos());
+    final Thread thread = factory.newThread(background::run);
+    background.thread = thread;
+    thread.start();
+    return background;
+  }
+
+  // the keys, each after the keys it depends on
+  private List<Key<?>> order() {
+    final Set<Key<?>> order = new LinkedHashSet<>();
+    final Set<Key<?>> visiting = new HashSet<>();
+    for(final Key<?> key : this.graph.keySet()) {
+      this.order(key, order, visiting);
+    }
+    return new ArrayList<>(order);
+  }
+
+  private void order(final Key<?> key, final Set<Key<?>> order, final Set<Key<?>> visiting) {
+    if(order.contains(key) || !visiting.add(key)) {
+      return;
+    }
+    for(final Key<?> dependency : this.graph.get(key)) {
+      this.order(dependency, order, visiting);
+    }
+    order.add(key);
+  }
+
+  private CompletableFuture<Void> schedule(final Key<?> key, final Executor executor, final Map<Key<?>, CompletableFuture<Void>> futures, final Set<Key<?>> visiting, final Map<Key<?>, Duration> timings, final Map<Key<?>, Throwable> failures) {
+    final /* @Nullable */ CompletableFuture<Void> existing = futures.get(key);
+    if(existing != null) {
+      return existing;
+    }
+    // a dependency cycle - guice will resolve it (or report it) when instantiating, so we only need to avoid waiting on ourselves
+    if(!visiting.add(key)) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final Set<Key<?>> dependencies = this.graph.get(key);
+    final CompletableFuture<?>[] prerequisites = new CompletableFuture<?>[dependencies.size()];
+    int i = 0;
+    for(final Key<?> dependency : dependencies) {
+      prerequisites[i++] = this.schedule(dependency, executor, futures, visiting, timings, failures);
+    }
+    visiting.remove(key);
+    final CompletableFuture<Void> future = CompletableFuture.allOf(prerequisites).thenRunAsync(() -> {
+      final long start = System.nanoTime();
+      try {
+        LazyGroup.block(() -> this.injector.getInstance(key));
+      } catch(final RuntimeException e) {
+        failures.put(key, e);
+      }
+      timings.put(key, Duration.ofNanos(System.nanoTime() - start));
+    }, executor);
+    futures.put(key, future);
+    return future;
+  }
+
+  static boolean isLazySingleton(final Binding<?> binding) {
+    return binding.acceptScopingVisitor(new DefaultBindingScopingVisitor<Boolean>() {
+      @Override
+      protected Boolean visitOther() {
+        return false;
+      }
+
+      @Override
+      public Boolean visitScope(final Scope scope) {
+        return scope == LazySingleton.SCOPE;
+      }
+
+      @Override
+      public Boolean visitScopeAnnotation(final Class<? extends Annotation> scopeAnnotation) {
+        return scopeAnnotation == LazySingleton.class;
+      }
+    });
+  }
+
+  private static void collectDependencies(final Injector injector, final Binding<?> binding, final Set<Key<?>> dependencies, final Set<Key<?>> visited) {
+    if(!(binding instanceof HasDependencies)) {
+      return;
+    }
+    for(final Dependency<?> dependency : ((HasDependencies) binding).getDependencies()) {
+      final Key<?> key = dependency.getKey();
+      if(!visited.add(key)) {
+        continue;
+      }
+      final /* @Nullable */ Binding<?> target = injector.getExistingBinding(key);
+      if(target == null) {
+        continue;
+      }
+      if(isLazySingleton(target)) {
+        dependencies.add(key);
+      } else {
+        collectDependencies(injector, target, dependencies, visited);
+      }
+    }
+  }
+
+  /**
+   * Lazy singletons being warmed in the background.
+   *
+   * @see #warmInBackground(BooleanSupplier)
+   */
+  public static final class Background {
+    private final Injector injector;
+    private final List<Key<?>> keys;
+    private final BooleanSupplier busy;
+    private final long pollInterval;
+    private final CompletableFuture<Report> completion = new CompletableFuture<>();
+    private volatile boolean cancelled;
+    private volatile @Nullable Thread thread;
+
+    Background(final Injector injector, final List<Key<?>> keys, final BooleanSupplier busy, final long pollInterval) {
+      this.injector = injector;
+      this.keys = keys;
+      this.busy = busy;
+      this.pollInterval = pollInterval;
+    }
+
+    void run() {
+      final long start = System.nanoTime();
+      final Map<Key<?>, Duration> timings = new LinkedHashMap<>();
+      final Map<Key<?>, Throwable> failures = new LinkedHashMap<>();
+      try {
+        for(final Key<?> key : this.keys) {
+          while(!this.cancelled && this.busy.getAsBoolean()) {
+            LockSupport.parkNanos(this, this.pollInterval);
+          }
+          if(this.cancelled) {
+            break;
+          }
+          final long instantiating = System.nanoTime();
+          try {
+            this.injector.getInstance(key);
+          } catch(final RuntimeException e) {
+            failures.put(key, e);
+          }
+          timings.put(key, Duration.ofNanos(System.nanoTime() - instantiating));
+        }
+      } catch(final RuntimeException | Error e) {
+        // the busy signal failed - stop warming
+        this.completion.completeExceptionally(e);
+        throw e;
+      }
+      this.completion.complete(new Report(timings, failures, Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    /**
+     * Gets a future completed with a report once all lazy singletons have been instantiated, or once cancelled.
+     *
+     * @return a future
+     */
+    public @NonNull CompletableFuture<Report> completion() {
+      return this.completion;
+    }
+
+    /**
+     * Stops warming once the lazy singleton currently being instantiated, if any, has been instantiated.
+     *
+     * <p>The {@link #completion() completion} is completed with a report of the lazy singletons which were instantiated.</p>
+     */
+    public void cancel() {
+      this.cancelled = true;
+      final /* @Nullable */ Thread thread = this.thread;
+      if(thread != null) {
+        LockSupport.unpark(thread);
+      }
+    }
+  }
+
+  /**
+   * The result of warming lazy singletons.
+   */
+  public static final class Report {
+    private final Map<Key<?>, Duration> timings;
+    private final Map<Key<?>, Throwable> failures;
+    private final Duration elapsed;
+
+    Report(final Map<Key<?>, Duration> timings, final Map<Key<?>, Throwable> failures, final Duration elapsed) {
+      this.timings = Collections.unmodifiableMap(new LinkedHashMap<>(timings));
+      this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+      this.elapsed = elapsed;
+    }
+
+    /**
+     * Gets the time spent instantiating each lazy singleton, in order of completion.
+     *
+     * @return the time spent instantiating each lazy singleton
+     */
+    public @NonNull Map<Key<?>, Duration> timings() {
+      return this.timings;
+    }
+
+    /**
+     * Gets the lazy singletons which failed to instantiate, and the reason they failed.
+     *
+     * @return the failures
+     */
+    public @NonNull Map<Key<?>, Throwable> failures() {
+      return this.failures;
+    }
+
+    /**
+     * Gets the total time spent warming.
+     *
+     * @return the total time spent warming
+     */
+    public @NonNull Duration elapsed() {
+      return this.elapsed;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder sb = new StringBuilder("LazySingletonWarmer.Report{elapsed=").append(this.elapsed.toMillis()).append("ms");
+      this.timings.entrySet().stream()
+        .sorted(Map.Entry.<Key<?>, Duration>comparingByValue().reversed())
+        .forEach(entry -> sb.append(", ").append(entry.getKey()).append('=').append(entry.getValue().toMillis()).append("ms"));
+      return sb.append('}').toString();
+    }
+  }
+}
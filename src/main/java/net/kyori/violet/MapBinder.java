@@ -0,0 +1,306 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.inject.Binder;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.PrivateBinder;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.TypeLiteral;
+import com.google.inject.binder.LinkedBindingBuilder;
+import com.google.inject.multibindings.Multibinder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A binder for a map of elements, optimized for lookups.
+ *
+ * <p>The bound {@code Map<K, V>} and {@code Map<K, Provider<V>>} are immutable, and are specialized
+ * by key type:</p>
+ * <ul>
+ *   <li>{@link Enum enum} keys are backed by an {@link java.util.EnumMap}</li>
+ *   <li>{@link Class} keys are backed by a {@link ClassValue}, caching each lookup on the class itself</li>
+ *   <li>a small set of {@link String} keys is backed by a collision-free hash table</li>
+ * </ul>
+ *
+ * <p>If all values are singletons, a single map is created and provided each time. Otherwise, a new map is
+ * created each time it is provided, sharing the lookup structure of the keys. The scopes of the values are checked,
+ * and the lookup structure is created, once, when the injector is created.</p>
+ *
+ * <p>Unlike {@link com.google.inject.multibindings.MapBinder}, entries must be added through violet map binders,
+ * and each key may only be bound once - a duplicated key fails injector creation.</p>
+ *
+ * <p><strong>A violet map binder cannot be combined with a {@link com.google.inject.multibindings.MapBinder} for
+ * the same key and value types and annotation.</strong> Both bind the same map keys, so the injector will fail with
+ * a duplicate binding. Use a distinct annotation when a map is also contributed to by Guice map binders.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class MapBinder<K, V> {
+  private final Binder binder;
+  private final Key<V> key;
+  private final Multibinder<Entry<K, V>> entries;
+
+  public MapBinder(final @NonNull Binder binder, final @NonNull TypeLiteral<K> keyType, final @NonNull TypeLiteral<V> valueType) {
+    this(binder, keyType, Key.get(valueType));
+  }
+
+  public MapBinder(final @NonNull Binder binder, final @NonNull TypeLiteral<K> keyType, final @NonNull TypeLiteral<V> valueType, final @NonNull Class<? extends Annotation> annotation) {
+    this(binder, keyType, Key.get(valueType, annotation));
+  }
+
+  public MapBinder(final @NonNull Binder binder, final @NonNull TypeLiteral<K> keyType, final @NonNull TypeLiteral<V> valueType, final @NonNull Annotation annotation) {
+    this(binder, keyType, Key.get(valueType, annotation));
+  }
+
+  public MapBinder(final @NonNull Binder binder, final @NonNull Class<K> keyType, final @NonNull Class<V> valueType) {
+    this(binder, TypeLiteral.get(keyType), Key.get(valueType));
+  }
+
+  public MapBinder(final @NonNull Binder binder, final @NonNull Class<K> keyType, final @NonNull Class<V> valueType, final @NonNull Class<? extends Annotation> annotation) {
+    this(binder, TypeLiteral.get(keyType), Key.get(valueType, annotation));
+  }
+
+  public MapBinder(final @NonNull Binder binder, final @NonNull Class<K> keyType, final @NonNull Class<V> valueType, final @NonNull Annotation annotation) {
+    this(binder, TypeLiteral.get(keyType), Key.get(valueType, annotation));
+  }
+
+  private MapBinder(final Binder binder, final TypeLiteral<K> keyType, final Key<V> key) {
+    this.binder = binder.skipSources(MapBinder.class);
+    this.key = key;
+    final Key<Entry<K, V>> entryKey = key.ofType(new FriendlyTypeLiteral<Entry<K, V>>() {}.where(new TypeArgument<K>(keyType) {}, new TypeArgument<V>(key.getTypeLiteral()) {}));
+    this.entries = Multibinder.newSetBinder(this.binder, entryKey);
+    // installed once per key - the module is equal to any other for the same key
+    this.binder.install(new MapModule<>(keyType, key, entryKey));
+  }
+
+  /**
+   * Returns a binding builder used to add a new entry in the map.
+   *
+   * @param key the key of the entry
+   * @return a binding builder
+   */
+  public @NonNull LinkedBindingBuilder<V> addBinding(final @NonNull K key) {
+    final PrivateBinder binder = this.binder.newPrivateBinder();
+    final PrivateElement<V> value = new PrivateElement<>(binder, this.key.getTypeLiteral());
+    this.entries.addBinding().toInstance(new Entry<>(key, value));
+    return value.bind(binder);
+  }
+
+  /**
+   * Creates an immutable map specialized for its key type.
+   *
+   * @param keyType the raw key type
+   * @param map the map
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return a map
+   */
+  @SuppressWarnings("unchecked")
+  static <K, V> @NonNull Map<K, V> optimize(final @NonNull Class<?> keyType, final @NonNull ImmutableMap<K, V> map) {
+    return (Map<K, V>) layout(keyType, map.keySet().asList()).map(map.values().toArray());
+  }
+
+  /**
+   * Creates the layout of immutable maps of {@code keys}, specialized for their key type.
+   *
+   * <p>Lookup structures, such as a collision-free hash table, are created once by the layout and shared by
+   * every map created from it.</p>
+   *
+   * @param keyType the raw key type
+   * @param keys the distinct keys
+   * @param <K> the key type
+   * @return a layout
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  static <K> @NonNull Layout<K> layout(final @NonNull Class<?> keyType, final @NonNull List<K> keys) {
+    if(keyType.isEnum()) {
+      return values -> {
+        final EnumMap map = new EnumMap(keyType);
+        for(int i = 0; i < values.length; i++) {
+          map.put((Enum) keys.get(i), values[i]);
+        }
+        return Maps.immutableEnumMap(map);
+      };
+    } else if(keyType == Class.class) {
+      final ClassValueMap.Index index = ClassValueMap.index((List) keys);
+      return values -> (Map) index.map(values);
+    } else if(keyType == String.class) {
+      final /* @Nullable */ PerfectHashMap.Table table = PerfectHashMap.table((List) keys);
+      if(table != null) {
+        return values -> (Map) table.map(values);
+      }
+    }
+    return values -> {
+      final ImmutableMap.Builder<K, Object> map = ImmutableMap.builder();
+      for(int i = 0; i < values.length; i++) {
+        map.put(keys.get(i), values[i]);
+      }
+      return map.build();
+    };
+  }
+
+  /**
+   * The layout of immutable maps with a fixed set of keys.
+   *
+   * @param <K> the key type
+   */
+  @FunctionalInterface
+  interface Layout<K> {
+    /**
+     * Creates a map of the keys of this layout to {@code values}.
+     *
+     * @param values the values, in the order of the keys of this layout
+     * @return a map
+     */
+    @NonNull Map<K, Object> map(final @NonNull Object[] values);
+  }
+
+  static final class Entry<K, V> {
+    final K key;
+    final PrivateElement<V> value;
+
+    Entry(final K key, final PrivateElement<V> value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  private static final class MapModule<K, V> implements Module {
+    private final TypeLiteral<K> keyType;
+    private final Key<V> key;
+    private final Key<Entry<K, V>> entryKey;
+
+    MapModule(final TypeLiteral<K> keyType, final Key<V> key, final Key<Entry<K, V>> entryKey) {
+      this.keyType = keyType;
+      this.key = key;
+      this.entryKey = entryKey;
+    }
+
+    @Override
+    public void configure(final Binder binder) {
+      final TypeArgument<K> k = new TypeArgument<K>(this.keyType) {};
+      final TypeArgument<V> v = new TypeArgument<V>(this.key.getTypeLiteral()) {};
+      final MapProvider<K, V> provider = new MapProvider<>(this.keyType.getRawType(), this.entryKey.ofType(new FriendlyTypeLiteral<Set<Entry<K, V>>>() {}.where(k, v)));
+      binder.bind(this.key.ofType(new FriendlyTypeLiteral<Map<K, V>>() {}.where(k, v))).toProvider(provider);
+      binder.bind(this.key.ofType(new FriendlyTypeLiteral<Map<K, Provider<V>>>() {}.where(k, v))).toProvider(provider::providers).in(Scopes.SINGLETON);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof MapModule && this.key.equals(((MapModule<?, ?>) other).key) && this.keyType.equals(((MapModule<?, ?>) other).keyType);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * this.key.hashCode() + this.keyType.hashCode();
+    }
+  }
+
+  private static final class MapProvider<K, V> implements Provider<Map<K, V>> {
+    private final Class<?> keyType;
+    private final Key<Set<Entry<K, V>>> entries;
+    private boolean singletons;
+    private @Nullable Layout<K> layout;
+    // written when the injector is created, after singletons and layout
+    private volatile @Nullable List<Entry<K, V>> resolved;
+    // racy, but creating more than one snapshot is harmless
+    private volatile @Nullable Map<K, V> snapshot;
+
+    MapProvider(final Class<?> keyType, final Key<Set<Entry<K, V>>> entries) {
+      this.keyType = keyType;
+      this.entries = entries;
+    }
+
+    @Inject
+    void initialize(final Injector injector) {
+      final Set<Entry<K, V>> entries = injector.getInstance(this.entries);
+      final List<K> keys = new ArrayList<>(entries.size());
+      final Set<K> unique = Sets.newHashSetWithExpectedSize(entries.size());
+      boolean singletons = true;
+      for(final Entry<K, V> entry : entries) {
+        checkState(unique.add(entry.key), "Map injection failed due to duplicated key \"%s\"", entry.key);
+        keys.add(entry.key);
+        singletons &= entry.value.singleton();
+      }
+      this.singletons = singletons;
+      this.layout = layout(this.keyType, keys);
+      this.resolved = ImmutableList.copyOf(entries);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<K, V> get() {
+      final /* @Nullable */ Map<K, V> snapshot = this.snapshot;
+      if(snapshot != null) {
+        return snapshot;
+      }
+      final List<Entry<K, V>> resolved = this.resolved();
+      final Object[] values = new Object[resolved.size()];
+      for(int i = 0; i < values.length; i++) {
+        values[i] = resolved.get(i).value.get();
+      }
+      final Map<K, V> map = (Map<K, V>) this.layout.map(values);
+      if(this.singletons) {
+        this.snapshot = map;
+      }
+      return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<K, Provider<V>> providers() {
+      final List<Entry<K, V>> resolved = this.resolved();
+      final Object[] providers = new Object[resolved.size()];
+      for(int i = 0; i < providers.length; i++) {
+        providers[i] = resolved.get(i).value;
+      }
+      return (Map<K, Provider<V>>) (Map<K, ?>) this.layout.map(providers);
+    }
+
+    private List<Entry<K, V>> resolved() {
+      final /* @Nullable */ List<Entry<K, V>> resolved = this.resolved;
+      checkState(resolved != null, "The map cannot be provided until the injector has been created");
+      return resolved;
+    }
+  }
+}
@@ -0,0 +1,313 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Binder;
+import com.google.inject.Module;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the time spent configuring each installed module.
+ *
+ * <p>Modules installed through a {@link #binder(Binder) profiling binder} are profiled. While profiling,
+ * violet {@link AbstractModule}s and {@link DuplexModule}s also profile the modules they install,
+ * allowing an entire module tree to be profiled from the root.</p>
+ *
+ * <p>A profiler is not thread-safe. It should profile modules configured on a single thread, such as those
+ * installed while creating an injector, and should only be reported on once that has completed. Modules
+ * configured on other threads, such as the children of {@link ParallelModules}, are not profiled.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * final ModuleProfiler profiler = new ModuleProfiler();
+ * final Injector injector = Guice.createInjector(profiler.module(new MyModule()));
+ * System.out.println(profiler.report());
+ * </pre>
+ */
+public final class ModuleProfiler {
+  private static final ThreadLocal<ModuleProfiler> ACTIVE = new ThreadLocal<>();
+  private final List<Entry> entries = new ArrayList<>();
+  private final Deque<Entry> stack = new ArrayDeque<>();
+
+  /**
+   * Gets the profiler which is currently profiling a module on this thread.
+   *
+   * @return the active profiler, or {@code null}
+   */
+  static @Nullable ModuleProfiler active() {
+    return ACTIVE.get();
+  }
+
+  /**
+   * Creates a binder which profiles the modules installed through it.
+   *
+   * @param binder the binder
+   * @return a profiling binder
+   */
+  public @NonNull VBinder binder(final @NonNull Binder binder) {
+    if(binder instanceof ProfilingBinder && ((ProfilingBinder) binder).profiler == this) {
+      return (VBinder) binder;
+    }
+    return new ProfilingBinder(binder, this);
+  }
+
+  /**
+   * Creates a duplex binder which profiles the modules installed through it.
+   *
+   * @param binder the duplex binder
+   * @return a profiling duplex binder
+   */
+  public @NonNull VDuplexBinder binder(final @NonNull DuplexBinder binder) {
+    if(binder instanceof ProfilingDuplexBinder && ((ProfilingDuplexBinder) binder).profiler == this) {
+      return (VDuplexBinder) binder;
+    }
+    return new ProfilingDuplexBinder(binder, this);
+  }
+
+  /**
+   * Creates a module which installs {@code modules} through a {@link #binder(Binder) profiling binder}.
+   *
+   * @param modules the modules to profile
+   * @return a module
+   */
+  public @NonNull Module module(final @NonNull Module... modules) {
+    return binder -> {
+      final VBinder profiling = this.binder(binder);
+      for(final Module module : modules) {
+        profiling.install(module);
+      }
+    };
+  }
+
+  /**
+   * Profiles the configuration of {@code module}.
+   *
+   * <p>A module which is already being profiled is not profiled again.</p>
+   *
+   * @param module the module
+   * @param configure the action which configures the module
+   */
+  void profile(final @NonNull Module module, final @NonNull Runnable configure) {
+    final /* @Nullable */ Entry parent = this.stack.peek();
+    if(parent != null && parent.module == module) {
+      configure.run();
+      return;
+    }
+    final Entry entry = new Entry(module, this.stack.size());
+    this.entries.add(entry);
+    this.stack.push(entry);
+    final /* @Nullable */ ModuleProfiler active = ACTIVE.get();
+    ACTIVE.set(this);
+    final long start = System.nanoTime();
+    try {
+      configure.run();
+    } finally {
+      entry.nanos = System.nanoTime() - start;
+      ACTIVE.set(active);
+      this.stack.pop();
+      if(parent != null) {
+        parent.childNanos += entry.nanos;
+      }
+    }
+  }
+
+  /**
+   * Records a call to {@code bind} or {@code bindConstant} by the module currently being profiled.
+   */
+  void bindCalled() {
+    final /* @Nullable */ Entry entry = this.stack.peek();
+    if(entry != null) {
+      entry.bindCalls++;
+    }
+  }
+
+  /**
+   * Creates a report of the modules profiled so far.
+   *
+   * @return a report
+   */
+  public @NonNull Report report() {
+    final List<Entry> entries = new ArrayList<>(this.entries.size());
+    for(final Entry entry : this.entries) {
+      entries.add(entry.copy());
+    }
+    entries.sort(Comparator.comparingLong(Entry::selfNanos).reversed());
+    return new Report(entries);
+  }
+
+  /**
+   * A profiled module.
+   */
+  public static final class Entry {
+    private final Module module;
+    private final int depth;
+    long nanos;
+    long childNanos;
+    int bindCalls;
+
+    Entry(final Module module, final int depth) {
+      this.module = module;
+      this.depth = depth;
+    }
+
+    Entry copy() {
+      final Entry copy = new Entry(this.module, this.depth);
+      copy.nanos = this.nanos;
+      copy.childNanos = this.childNanos;
+      copy.bindCalls = this.bindCalls;
+      return copy;
+    }
+
+    /**
+     * Gets the name of the module.
+     *
+     * @return the name of the module
+     */
+    public @NonNull String name() {
+      return this.module.getClass().getName();
+    }
+
+    /**
+     * Gets the depth the module was installed at, where {@code 0} is a module installed through a profiling binder.
+     *
+     * @return the depth
+     */
+    public int depth() {
+      return this.depth;
+    }
+
+    /**
+     * Gets the time spent configuring the module, including the modules it installed.
+     *
+     * @return the time spent, in nanoseconds
+     */
+    public long totalNanos() {
+      return this.nanos;
+    }
+
+    /**
+     * Gets the time spent configuring the module, excluding the profiled modules it installed.
+     *
+     * @return the time spent, in nanoseconds
+     */
+    public long selfNanos() {
+      return this.nanos - this.childNanos;
+    }
+
+    /**
+     * Gets the number of calls to {@code bind} and {@code bindConstant} made through the module's profiling binder.
+     *
+     * <p>Helpers given the profiling binder, such as {@link VBinder#bindLazy(Class)}, {@link SetBinder} and
+     * {@link MapBinder}, bind through it, so their calls are counted. A helper may make several calls for what the
+     * module sees as a single binding. Bindings made on an underlying or private binder, by provider methods, or by
+     * modules which are not violet modules, which are given the underlying binder, are not counted.</p>
+     *
+     * @return the number of calls
+     */
+    public int bindCalls() {
+      return this.bindCalls;
+    }
+  }
+
+  /**
+   * A report of profiled modules, sorted by {@link Entry#selfNanos() self time}, slowest first.
+   */
+  public static final class Report {
+    private final List<Entry> entries;
+
+    Report(final List<Entry> entries) {
+      this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Gets the profiled modules.
+     *
+     * @return the profiled modules
+     */
+    public @NonNull List<Entry> entries() {
+      return this.entries;
+    }
+
+    /**
+     * Formats this report as JSON.
+     *
+     * @return the JSON representation of this report
+     */
+    public @NonNull String toJson() {
+      final StringBuilder sb = new StringBuilder("[");
+      for(int i = 0, size = this.entries.size(); i < size; i++) {
+        final Entry entry = this.entries.get(i);
+        if(i > 0) {
+          sb.append(',');
+        }
+        sb.append("{\"module\":\"");
+        escape(sb, entry.name());
+        sb.append("\",\"depth\":").append(entry.depth())
+          .append(",\"totalNanos\":").append(entry.totalNanos())
+          .append(",\"selfNanos\":").append(entry.selfNanos())
+          .append(",\"bindCalls\":").append(entry.bindCalls())
+          .append('}');
+      }
+      return sb.append(']').toString();
+    }
+
+    private static void escape(final StringBuilder sb, final String string) {
+      for(int i = 0, length = string.length(); i < length; i++) {
+        final char c = string.charAt(i);
+        if(c == '"' || c == '\\') {
+          sb.append('\\').append(c);
+        } else if(c < 0x20) {
+          sb.append(String.format("\\u%04x", (int) c));
+        } else {
+          sb.append(c);
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder sb = new StringBuilder(String.format("%10s %10s %8s %5s  %s%n", "self(ms)", "total(ms)", "binds", "depth", "module"));
+      for(final Entry entry : this.entries) {
+        sb.append(String.format(
+          "%10.3f %10.3f %8d %5d  %s%n",
+          entry.selfNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+          entry.totalNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+          entry.bindCalls(),
+          entry.depth(),
+          entry.name()
+        ));
+      }
+      return sb.toString();
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Binder;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.InjectionRequest;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.MembersInjectorLookup;
+import com.google.inject.spi.PrivateElements;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderLookup;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A recording of the elements configured by a {@link SingletonModule}.
+ *
+ * <p>A snapshot configures its module once, and replays the recorded elements each time it is installed.
+ * This avoids configuring the same module again when creating many injectors from the same modules.</p>
+ *
+ * <p>Only elements which can be shared between injectors are replayed. A module which looks up providers or
+ * members injectors (including through {@link VBinder#bindLazy(Class)}, {@link SetBinder} and {@link MapBinder}),
+ * installs private modules (including {@link DuplexModule}s), binds provider instances (including
+ * {@link com.google.inject.Provides @Provides} methods), or binds or requests injection of instances with injection
+ * points, is not {@link #replayable() replayable}. Such a module is installed as-is each time the snapshot is
+ * installed.</p>
+ *
+ * <p>Snapshots are cached per {@link Stage}, using the class of the {@link SingletonModule} as the key, and are
+ * themselves deduplicated the same way as their module. The cache does not keep module classes reachable.</p>
+ *
+ * @see VBinder#installSnapshot(SingletonModule)
+ */
+public final class ModuleSnapshot implements Module {
+  // module class -> the snapshot of that module in each stage
+  private static final ClassValue<AtomicReferenceArray<ModuleSnapshot>> SNAPSHOTS = new ClassValue<AtomicReferenceArray<ModuleSnapshot>>() {
+    @Override
+    protected AtomicReferenceArray<ModuleSnapshot> computeValue(final Class<?> type) {
+      return new AtomicReferenceArray<>(Stage.values().length);
+    }
+  };
+  // incremented to discard all snapshots, as a class value can not be cleared
+  private static final AtomicInteger GENERATION = new AtomicInteger();
+  private final SingletonModule module;
+  private final List<Element> elements;
+  private final boolean replayable;
+  private final Module replay;
+  private final int generation;
+
+  private ModuleSnapshot(final SingletonModule module, final List<Element> elements, final int generation) {
+    this.module = module;
+    this.elements = Collections.unmodifiableList(elements);
+    this.replayable = replayable(elements);
+    this.replay = this.replayable ? Elements.getModule(this.elements) : binder -> binder.install(module);
+    this.generation = generation;
+  }
+
+  /**
+   * Gets a snapshot of {@code module} in {@link Stage#DEVELOPMENT}.
+   *
+   * @param module the module
+   * @return a snapshot
+   */
+  public static @NonNull ModuleSnapshot of(final @NonNull SingletonModule module) {
+    return of(Stage.DEVELOPMENT, module);
+  }
+
+  /**
+   * Gets a snapshot of {@code module} in {@code stage}, recording one if necessary.
+   *
+   * @param stage the stage
+   * @param module the module
+   * @return a snapshot
+   */
+  public static @NonNull ModuleSnapshot of(final @NonNull Stage stage, final @NonNull SingletonModule module) {
+    final AtomicReferenceArray<ModuleSnapshot> snapshots = SNAPSHOTS.get(module.getClass());
+    final int generation = GENERATION.get();
+    final /* @Nullable */ ModuleSnapshot snapshot = snapshots.get(stage.ordinal());
+    if(snapshot != null && snapshot.generation == generation) {
+      return snapshot;
+    }
+    // not computed atomically - the module may itself install snapshots while being recorded
+    final ModuleSnapshot recorded = new ModuleSnapshot(module, Elements.getElements(stage, module), generation);
+    if(snapshots.compareAndSet(stage.ordinal(), snapshot, recorded)) {
+      return recorded;
+    }
+    final /* @Nullable */ ModuleSnapshot existing = snapshots.get(stage.ordinal());
+    return existing != null && existing.generation == generation ? existing : recorded;
+  }
+
+  /**
+   * Discards the snapshots of {@code module}, causing it to be recorded again when next requested.
+   *
+   * @param module the module
+   */
+  public static void invalidate(final @NonNull SingletonModule module) {
+    SNAPSHOTS.remove(module.getClass());
+  }
+
+  /**
+   * Discards all snapshots.
+   */
+  public static void invalidateAll() {
+    GENERATION.incrementAndGet();
+  }
+
+  // whether the elements can be shared between injectors
+  private static boolean replayable(final List<Element> elements) {
+    for(final Element element : elements) {
+      if(element instanceof ProviderLookup<?> || element instanceof MembersInjectorLookup<?> || element instanceof PrivateElements) {
+        // lookups are initialized by (and tied to) a single injector
+        return false;
+      } else if(element instanceof ProviderInstanceBinding<?>) {
+        // provider instances, such as @Provides methods, are initialized by each injector
+        return false;
+      } else if(element instanceof InstanceBinding<?> && !((InstanceBinding<?>) element).getInjectionPoints().isEmpty()) {
+        return false;
+      } else if(element instanceof InjectionRequest<?>) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets if the recorded elements are replayed when installed, rather than the module being installed as-is.
+   *
+   * @return {@code true} if the recorded elements are replayed
+   */
+  public boolean replayable() {
+    return this.replayable;
+  }
+
+  /**
+   * Gets the recorded elements.
+   *
+   * @return the recorded elements
+   */
+  public @NonNull List<Element> elements() {
+    return this.elements;
+  }
+
+  @Override
+  public void configure(final Binder binder) {
+    this.replay.configure(binder);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.module.hashCode();
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object that) {
+    return that instanceof ModuleSnapshot && this.module.equals(((ModuleSnapshot) that).module);
+  }
+
+  @Override
+  public String toString() {
+    return "ModuleSnapshot{" + this.module.getClass().getName() + "}";
+  }
+}
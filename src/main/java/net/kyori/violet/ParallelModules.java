@@ -0,0 +1,138 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Binder;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.PrivateBinder;
+import com.google.inject.Stage;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.PrivateElements;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A module which configures its child modules in parallel.
+ *
+ * <p>The elements of each child module are recorded concurrently on an {@link Executor}, and are then
+ * replayed into the binder in the order the child modules were given in, so the resulting configuration
+ * does not depend on the order in which child modules finish.</p>
+ *
+ * <p>When installed into a {@link DuplexBinder}, child modules are recorded within a duplex environment,
+ * allowing {@link DuplexModule}s to be configured in parallel. Their public elements are then replayed into
+ * the {@link DuplexBinder#publicBinder() public binder}, and their private elements (and exposures) into
+ * the private binder.</p>
+ *
+ * <p>Child modules must not depend on configuration order, or on state shared with other modules.</p>
+ *
+ * <p>Child modules which are {@link Object#equals(Object) equal} are only configured once, as Guice would
+ * when installing them. However, each child module is recorded separately, so a module installed <em>by</em>
+ * more than one child module is configured once for each of them. Such shared modules - in particular private
+ * modules and {@link DuplexModule}s, whose exposed keys would be exposed more than once, and modules binding
+ * listeners or interceptors, which would be registered more than once - should instead be installed alongside
+ * the parallel modules.</p>
+ *
+ * <p>Recording a module may block, for example on I/O, so the executor is always given explicitly.</p>
+ */
+public final class ParallelModules implements Module {
+  private final Executor executor;
+  private final List<Module> modules;
+
+  private ParallelModules(final Executor executor, final List<Module> modules) {
+    this.executor = executor;
+    this.modules = modules;
+  }
+
+  /**
+   * Creates a module which configures {@code modules} in parallel on {@code executor}.
+   *
+   * @param executor the executor
+   * @param modules the modules
+   * @return a module
+   */
+  public static @NonNull ParallelModules of(final @NonNull Executor executor, final @NonNull Iterable<? extends Module> modules) {
+    // deduplicate the same way guice deduplicates installed modules
+    return new ParallelModules(executor, ImmutableList.copyOf(ImmutableSet.copyOf(modules)));
+  }
+
+  @Override
+  public void configure(final Binder binder) {
+    final Stage stage = binder.currentStage();
+    // the active duplex binder is thread-local, so it must be captured here to be carried to the worker threads
+    final /* @Nullable */ DuplexBinder duplex = DuplexBinderImpl.activeBinder(binder);
+    final List<CompletableFuture<List<Element>>> recordings = new ArrayList<>(this.modules.size());
+    for(final Module module : this.modules) {
+      recordings.add(CompletableFuture.supplyAsync(() -> record(stage, module, duplex != null), this.executor));
+    }
+    for(final CompletableFuture<List<Element>> recording : recordings) {
+      final List<Element> elements;
+      try {
+        elements = recording.join();
+      } catch(final CompletionException e) {
+        binder.addError(e.getCause() != null ? e.getCause() : e);
+        continue;
+      }
+      if(duplex != null) {
+        replay(elements, duplex.publicBinder(), binder);
+      } else {
+        Elements.getModule(elements).configure(binder);
+      }
+    }
+  }
+
+  private static List<Element> record(final Stage stage, final Module module, final boolean duplex) {
+    if(!duplex) {
+      return Elements.getElements(stage, module);
+    }
+    // record within a duplex environment - the first element is the private environment
+    return Elements.getElements(stage, (Module) binder -> {
+      final PrivateBinder privateBinder = binder.newPrivateBinder();
+      DuplexBinderImpl.create(binder, privateBinder).install(module);
+    });
+  }
+
+  private static void replay(final List<Element> elements, final Binder publicBinder, final Binder privateBinder) {
+    checkState(!elements.isEmpty() && elements.get(0) instanceof PrivateElements, "Expected a private environment to have been recorded");
+    final PrivateElements environment = (PrivateElements) elements.get(0);
+    Elements.getModule(environment.getElements()).configure(privateBinder);
+    if(!environment.getExposedKeys().isEmpty()) {
+      final PrivateBinder exposer = (PrivateBinder) privateBinder;
+      for(final Key<?> key : environment.getExposedKeys()) {
+        exposer.withSource(environment.getExposedSource(key)).expose(key);
+      }
+    }
+    Elements.getModule(elements.subList(1, elements.size())).configure(publicBinder);
+  }
+}
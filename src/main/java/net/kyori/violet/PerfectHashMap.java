@@ -0,0 +1,199 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable map with a small, fixed set of {@link String} keys, backed by a collision-free hash table.
+ *
+ * <p>A multiplier is searched for which maps the hash code of every key to a distinct slot, so a lookup is
+ * a multiplication, a shift, and a single comparison.</p>
+ *
+ * <p>The search is done once per set of keys by {@link #table(List)}, and the resulting table is shared by
+ * every map created from it.</p>
+ *
+ * @param <V> the value type
+ */
+final class PerfectHashMap<V> extends AbstractMap<String, V> {
+  static final int MAXIMUM_SIZE = 64;
+  private static final int ATTEMPTS = 256;
+  private final Table table;
+  // in the order of the keys of the table
+  private final Object[] values;
+
+  private PerfectHashMap(final Table table, final Object[] values) {
+    this.table = table;
+    this.values = values;
+  }
+
+  /**
+   * Creates a perfect hash map.
+   *
+   * @param map the map
+   * @param <V> the value type
+   * @return a perfect hash map, or {@code null} if no collision-free table could be found
+   */
+  static <V> @Nullable PerfectHashMap<V> create(final @NonNull ImmutableMap<String, V> map) {
+    final /* @Nullable */ Table table = table(map.keySet().asList());
+    return table != null ? table.map(map.values().toArray()) : null;
+  }
+
+  /**
+   * Searches for a collision-free table for {@code keys}.
+   *
+   * @param keys the distinct keys
+   * @return a table, or {@code null} if no collision-free table could be found
+   */
+  static @Nullable Table table(final @NonNull List<String> keys) {
+    if(keys.isEmpty() || keys.size() > MAXIMUM_SIZE) {
+      return null;
+    }
+    // start with a table at least twice the size of the map
+    final int minimumBits = 32 - Integer.numberOfLeadingZeros(keys.size() * 2 - 1);
+    final String[] slots = new String[1 << (Math.max(1, minimumBits) + 2)];
+    final int[] indices = new int[slots.length];
+    for(int bits = Math.max(1, minimumBits); bits <= minimumBits + 2; bits++) {
+      final int shift = 32 - bits;
+      for(int attempt = 0; attempt < ATTEMPTS; attempt++) {
+        final int multiplier = (0x9e3779b9 * (2 * attempt + 1)) | 1;
+        if(place(keys, slots, indices, multiplier, shift)) {
+          return new Table(ImmutableList.copyOf(keys), slots, indices, multiplier, shift);
+        }
+      }
+    }
+    return null;
+  }
+
+  // places the keys in the first 1 << (32 - shift) slots, reusing the arrays between attempts
+  private static boolean place(final List<String> keys, final String[] slots, final int[] indices, final int multiplier, final int shift) {
+    Arrays.fill(slots, null);
+    for(int i = 0, size = keys.size(); i < size; i++) {
+      final String key = keys.get(i);
+      final int slot = (key.hashCode() * multiplier) >>> shift;
+      if(slots[slot] != null) {
+        return false;
+      }
+      slots[slot] = key;
+      indices[slot] = i;
+    }
+    return true;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable V get(final Object key) {
+    if(!(key instanceof String)) {
+      return null;
+    }
+    final Table table = this.table;
+    final int slot = (key.hashCode() * table.multiplier) >>> table.shift;
+    return key.equals(table.slots[slot]) ? (V) this.values[table.indices[slot]] : null;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return this.get(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return this.values.length;
+  }
+
+  @Override
+  public @NonNull Set<Map.Entry<String, V>> entrySet() {
+    return new AbstractSet<Map.Entry<String, V>>() {
+      @Override
+      public Iterator<Map.Entry<String, V>> iterator() {
+        return new Iterator<Map.Entry<String, V>>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return this.index < PerfectHashMap.this.values.length;
+          }
+
+          @Override
+          @SuppressWarnings("unchecked")
+          public Map.Entry<String, V> next() {
+            if(!this.hasNext()) {
+              throw new NoSuchElementException();
+            }
+            final int index = this.index++;
+            return new SimpleImmutableEntry<>(PerfectHashMap.this.table.keys.get(index), (V) PerfectHashMap.this.values[index]);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return PerfectHashMap.this.values.length;
+      }
+    };
+  }
+
+  /**
+   * A collision-free table for a set of keys.
+   */
+  static final class Table {
+    final ImmutableList<String> keys;
+    // the key in each slot, and its index in keys
+    final String[] slots;
+    final int[] indices;
+    final int multiplier;
+    final int shift;
+
+    Table(final ImmutableList<String> keys, final String[] slots, final int[] indices, final int multiplier, final int shift) {
+      this.keys = keys;
+      this.slots = slots;
+      this.indices = indices;
+      this.multiplier = multiplier;
+      this.shift = shift;
+    }
+
+    /**
+     * Creates a map of the keys of this table to {@code values}.
+     *
+     * @param values the values, in the order of the keys of this table
+     * @param <V> the value type
+     * @return a map
+     */
+    <V> @NonNull PerfectHashMap<V> map(final @NonNull Object[] values) {
+      return new PerfectHashMap<>(this, values);
+    }
+  }
+}
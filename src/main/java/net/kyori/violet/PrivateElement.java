@@ -0,0 +1,99 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.BindingAnnotation;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.PrivateBinder;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.TypeLiteral;
+import com.google.inject.binder.LinkedBindingBuilder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * An element of a collection, bound in its own private environment.
+ *
+ * <p>Each element is bound to the same key within its environment, so the keys of elements are the same
+ * each time a module is configured, and never collide with each other or with any other binding.</p>
+ *
+ * @param <T> the element type
+ */
+final class PrivateElement<T> implements Provider<T> {
+  private final Key<T> key;
+  private final Provider<T> provider;
+  private final Provider<Injector> injector;
+
+  /**
+   * Creates an element.
+   *
+   * @param binder the private binder of the element
+   * @param type the element type
+   */
+  PrivateElement(final @NonNull PrivateBinder binder, final @NonNull TypeLiteral<T> type) {
+    this.key = Key.get(type, Element.class);
+    this.provider = binder.getProvider(this.key);
+    this.injector = binder.getProvider(Injector.class);
+  }
+
+  /**
+   * Returns a binding builder used to bind this element.
+   *
+   * @param binder the private binder of the element
+   * @return a binding builder
+   */
+  @NonNull LinkedBindingBuilder<T> bind(final @NonNull PrivateBinder binder) {
+    return binder.bind(this.key);
+  }
+
+  /**
+   * Tests if this element is bound as a singleton.
+   *
+   * <p>This may not be called while modules are being configured.</p>
+   *
+   * @return {@code true} if this element is a singleton
+   */
+  boolean singleton() {
+    return Scopes.isSingleton(this.injector.get().getBinding(this.key));
+  }
+
+  @Override
+  public T get() {
+    return this.provider.get();
+  }
+
+  @Override
+  public String toString() {
+    return this.key.toString();
+  }
+
+  @BindingAnnotation
+  @Retention(RetentionPolicy.RUNTIME)
+  @interface Element {
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Binder;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.TypeLiteral;
+import com.google.inject.binder.AnnotatedBindingBuilder;
+import com.google.inject.binder.AnnotatedConstantBindingBuilder;
+import com.google.inject.binder.LinkedBindingBuilder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A binder which profiles the modules installed through it.
+ *
+ * @see ModuleProfiler#binder(Binder)
+ */
+final class ProfilingBinder implements VBinder {
+  // These sources should be skipped when identifying calling code.
+  private static final Class<?>[] SKIPPED_SOURCES = new Class<?>[]{
+    ForwardingBinder.class,
+    VBinder.class,
+    ProfilingBinder.class,
+    ModuleProfiler.class
+  };
+  private final @NonNull Binder binder;
+  final @NonNull ModuleProfiler profiler;
+
+  ProfilingBinder(final @NonNull Binder binder, final @NonNull ModuleProfiler profiler) {
+    this.binder = binder.skipSources(SKIPPED_SOURCES);
+    this.profiler = profiler;
+  }
+
+  @Override
+  public @NonNull Binder binder() {
+    return this.binder;
+  }
+
+  @Override
+  public void install(final Module module) {
+    this.profiler.profile(module, () -> this.binder.install(module));
+  }
+
+  @Override
+  public <T> LinkedBindingBuilder<T> bind(final Key<T> key) {
+    this.profiler.bindCalled();
+    return this.binder.bind(key);
+  }
+
+  @Override
+  public <T> AnnotatedBindingBuilder<T> bind(final TypeLiteral<T> typeLiteral) {
+    this.profiler.bindCalled();
+    return this.binder.bind(typeLiteral);
+  }
+
+  @Override
+  public <T> AnnotatedBindingBuilder<T> bind(final Class<T> type) {
+    this.profiler.bindCalled();
+    return this.binder.bind(type);
+  }
+
+  @Override
+  public AnnotatedConstantBindingBuilder bindConstant() {
+    this.profiler.bindCalled();
+    return this.binder.bindConstant();
+  }
+
+  @Override
+  public VBinder withSource(final Object source) {
+    return new ProfilingBinder(this.binder.withSource(source), this.profiler);
+  }
+
+  @Override
+  public VBinder skipSources(final Class... classesToSkip) {
+    return new ProfilingBinder(this.binder.skipSources(classesToSkip), this.profiler);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.spi.ProvisionListener;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A {@link ProvisionListener} which records the latency of provisioning each key.
+ *
+ * <p>Latencies include the time spent provisioning dependencies of the key, and are recorded for
+ * roughly one in every {@code sampleRate} provisions. Linked bindings do not provision anything themselves,
+ * so their latencies are recorded against the key they are linked to.</p>
+ *
+ * @see VBinder#instrument(com.google.inject.matcher.Matcher)
+ */
+public final class ProvisionMetrics implements ProvisionListener {
+  private final ConcurrentMap<Key<?>, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  private final int sampleRate;
+
+  /**
+   * Creates provision metrics.
+   *
+   * @param sampleRate the sample rate - one in every {@code sampleRate} provisions is recorded
+   */
+  public ProvisionMetrics(final int sampleRate) {
+    checkArgument(sampleRate > 0, "sample rate must be positive");
+    this.sampleRate = sampleRate;
+  }
+
+  @Override
+  public <T> void onProvision(final ProvisionInvocation<T> invocation) {
+    if(this.sampleRate > 1 && ThreadLocalRandom.current().nextInt(this.sampleRate) != 0) {
+      return;
+    }
+    final long start = System.nanoTime();
+    invocation.provision();
+    final long nanos = System.nanoTime() - start;
+    this.histogram(invocation.getBinding()).record(nanos);
+  }
+
+  private LatencyHistogram histogram(final Binding<?> binding) {
+    final Key<?> key = binding.getKey();
+    final /* @Nullable */ LatencyHistogram histogram = this.histograms.get(key);
+    if(histogram != null) {
+      return histogram;
+    }
+    return this.histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+  }
+
+  /**
+   * Takes a snapshot of the latencies recorded for {@code key}.
+   *
+   * @param key the key
+   * @return a snapshot, or {@code null} if no latencies have been recorded for {@code key}
+   */
+  public LatencyHistogram.@Nullable Snapshot snapshot(final @NonNull Key<?> key) {
+    final /* @Nullable */ LatencyHistogram histogram = this.histograms.get(key);
+    return histogram != null ? histogram.snapshot() : null;
+  }
+
+  /**
+   * Takes a snapshot of the latencies recorded for every key.
+   *
+   * @return a map of keys to snapshots
+   */
+  public @NonNull Map<Key<?>, LatencyHistogram.Snapshot> snapshot() {
+    final Map<Key<?>, LatencyHistogram.Snapshot> snapshots = new HashMap<>(this.histograms.size());
+    for(final Map.Entry<Key<?>, LatencyHistogram> entry : this.histograms.entrySet()) {
+      snapshots.put(entry.getKey(), entry.getValue().snapshot());
+    }
+    return Collections.unmodifiableMap(snapshots);
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scope;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A scope which reuses an instance until it is reclaimed by the garbage collector.
+ *
+ * <p>Instances are held by a {@link SoftReference} or {@link WeakReference}. Once the reference has been cleared,
+ * the next request for an instance provisions a new one. Concurrent requests for a cleared instance provision
+ * only a single new instance. Threads which provision mutually dependent instances at the same time fail with a
+ * {@link com.google.inject.ProvisionException} rather than deadlock.</p>
+ *
+ * @see SoftSingleton
+ */
+public final class ReferenceScope implements Scope {
+  private final String name;
+  private final Function<Object, Reference<Object>> reference;
+  private final LongAdder provisions = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  // package-private for tests, which control when references are cleared
+  ReferenceScope(final String name, final Function<Object, Reference<Object>> reference) {
+    this.name = name;
+    this.reference = reference;
+  }
+
+  /**
+   * Creates a scope which holds instances by {@link SoftReference soft reference}.
+   *
+   * @param name the name of the scope
+   * @return a new scope
+   */
+  public static @NonNull ReferenceScope soft(final @NonNull String name) {
+    return new ReferenceScope(name, SoftReference::new);
+  }
+
+  /**
+   * Creates a scope which holds instances by {@link WeakReference weak reference}.
+   *
+   * @param name the name of the scope
+   * @return a new scope
+   */
+  public static @NonNull ReferenceScope weak(final @NonNull String name) {
+    return new ReferenceScope(name, WeakReference::new);
+  }
+
+  @Override
+  public <T> Provider<T> scope(final Key<T> key, final Provider<T> unscoped) {
+    return new Provider<T>() {
+      private final CycleDetectingLock lock = new CycleDetectingLock(key);
+      private volatile @Nullable Reference<Object> reference;
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public T get() {
+        final /* @Nullable */ Object value = dereference(this.reference);
+        if(value != null) {
+          return (T) value;
+        }
+        this.lock.lock();
+        try {
+          final /* @Nullable */ Reference<Object> reference = this.reference;
+          final /* @Nullable */ Object current = dereference(reference);
+          if(current != null) {
+            return (T) current;
+          }
+          if(reference != null) {
+            ReferenceScope.this.evictions.increment();
+          }
+          final T instance = unscoped.get();
+          ReferenceScope.this.provisions.increment();
+          // null instances are not retained, and will be provisioned again on the next request
+          if(instance != null) {
+            this.reference = ReferenceScope.this.reference.apply(instance);
+          }
+          return instance;
+        } finally {
+          this.lock.unlock();
+        }
+      }
+
+      @Override
+      public String toString() {
+        return unscoped + "[" + ReferenceScope.this + "]";
+      }
+    };
+  }
+
+  private static @Nullable Object dereference(final @Nullable Reference<Object> reference) {
+    return reference != null ? reference.get() : null;
+  }
+
+  /**
+   * Gets the number of instances provisioned by this scope.
+   *
+   * @return the number of instances provisioned
+   */
+  public long provisions() {
+    return this.provisions.sum();
+  }
+
+  /**
+   * Gets the number of instances which were reclaimed by the garbage collector, and then requested again.
+   *
+   * @return the number of evictions
+   */
+  public long evictions() {
+    return this.evictions.sum();
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+}
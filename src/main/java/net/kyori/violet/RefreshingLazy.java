@@ -0,0 +1,141 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.inject.Provider;
+
+/**
+ * A dependency which is periodically re-provisioned.
+ *
+ * <p>A {@code RefreshingLazy} loads its value on the first call to {@link #get()}. Once the value is older than
+ * the time-to-live, the next call to {@link #get()} begins reloading it on an {@link Executor} and returns the
+ * stale value - callers never block on a refresh, and at most one refresh is in progress at a time.</p>
+ *
+ * <p>If a refresh fails, the stale value is kept until the next refresh is due. Failed refreshes are
+ * {@link #refreshFailures() counted}, and the {@link #lastRefreshFailure() most recent failure} is retained
+ * until a refresh succeeds.</p>
+ *
+ * <p>When bound with {@link VBinder#bindRefreshing(com.google.inject.Key, Duration)}, a single
+ * {@code RefreshingLazy} is shared by all injection points.</p>
+ *
+ * <p>The underlying provider should not be scoped as a singleton, or a refresh will produce the same value.</p>
+ *
+ * @param <T> the type to provide
+ * @see VBinder#bindRefreshing(com.google.inject.Key, Duration)
+ */
+public class RefreshingLazy<T> implements Provider<T>, Supplier<T> {
+  private final Provider<T> provider;
+  private final long ttl;
+  private final Executor executor;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private final LongAdder refreshFailures = new LongAdder();
+  private volatile @Nullable Entry<T> entry;
+  private volatile @Nullable Throwable lastRefreshFailure;
+
+  public RefreshingLazy(final @NonNull Provider<T> provider, final @NonNull Duration ttl, final @NonNull Executor executor) {
+    this.provider = provider;
+    this.ttl = ttl.toNanos();
+    this.executor = executor;
+  }
+
+  @Override
+  public T get() {
+    /* @Nullable */ Entry<T> entry = this.entry;
+    if(entry == null) {
+      synchronized(this) {
+        entry = this.entry;
+        if(entry == null) {
+          entry = new Entry<>(this.provider.get(), System.nanoTime() + this.ttl);
+          this.entry = entry;
+        }
+      }
+    } else if(System.nanoTime() - entry.deadline >= 0 && this.refreshing.compareAndSet(false, true)) {
+      this.refresh(entry);
+    }
+    return entry.value;
+  }
+
+  private void refresh(final Entry<T> stale) {
+    try {
+      this.executor.execute(() -> {
+        try {
+          this.entry = new Entry<>(this.provider.get(), System.nanoTime() + this.ttl);
+          this.lastRefreshFailure = null;
+        } catch(final Throwable t) {
+          this.failed(t);
+          this.entry = new Entry<>(stale.value, System.nanoTime() + this.ttl);
+        } finally {
+          this.refreshing.set(false);
+        }
+      });
+    } catch(final RejectedExecutionException e) {
+      this.failed(e);
+      this.refreshing.set(false);
+    }
+  }
+
+  private void failed(final Throwable t) {
+    this.lastRefreshFailure = t;
+    this.refreshFailures.increment();
+  }
+
+  /**
+   * Gets the number of refreshes which have failed.
+   *
+   * @return the number of failed refreshes
+   */
+  public long refreshFailures() {
+    return this.refreshFailures.sum();
+  }
+
+  /**
+   * Gets the reason the most recent refresh failed, if it has not since succeeded.
+   *
+   * @return the reason the most recent refresh failed, or {@code null}
+   */
+  public @Nullable Throwable lastRefreshFailure() {
+    return this.lastRefreshFailure;
+  }
+
+  private static final class Entry<T> {
+    final T value;
+    // in System.nanoTime() units
+    final long deadline;
+
+    Entry(final T value, final long deadline) {
+      this.value = value;
+      this.deadline = deadline;
+    }
+  }
+}
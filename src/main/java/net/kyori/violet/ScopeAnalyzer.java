@@ -0,0 +1,479 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scope;
+import com.google.inject.Scopes;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.spi.DefaultBindingScopingVisitor;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.HasDependencies;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Analyzes the scopes of the bindings of an {@link Injector}.
+ *
+ * <p>The analysis reports:</p>
+ * <ul>
+ *   <li>unscoped bindings which are only injected into singletons or lazy singletons, where being unscoped has no effect;</li>
+ *   <li>eager singletons which no other binding depends on, which are candidates for {@link LazySingleton};</li>
+ *   <li>chains of linked bindings at least as long as a threshold;</li>
+ *   <li>lazy bindings whose target is already an instance or an eager singleton.</li>
+ * </ul>
+ *
+ * <p>A dependency on {@code Provider<T>} or {@code Lazy<T>} counts as a dependency on {@code T}. An unscoped
+ * binding injected through a provider is never reported, as each call to the provider creates an instance.</p>
+ *
+ * <p>An injector created in {@link Stage#TOOL} is analyzed as if it were created in {@link Stage#PRODUCTION}, so
+ * that singletons are eager. Another stage can be chosen with {@link #analyze(Injector, Stage)}.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * final Injector injector = Guice.createInjector(Stage.TOOL, modules);
+ * System.out.println(ScopeAnalyzer.analyze(injector));
+ * </pre>
+ */
+public final class ScopeAnalyzer {
+  /**
+   * The default length of a linked binding chain to report.
+   */
+  public static final int DEFAULT_CHAIN_LENGTH = 3;
+  // lazy holders which are not generic, and the type they hold
+  private static final Map<Class<?>, Class<?>> PRIMITIVE_LAZIES = new HashMap<>();
+
+  static {
+    PRIMITIVE_LAZIES.put(LazyInt.class, Integer.class);
+    PRIMITIVE_LAZIES.put(LazyLong.class, Long.class);
+    PRIMITIVE_LAZIES.put(LazyDouble.class, Double.class);
+    PRIMITIVE_LAZIES.put(LazyBoolean.class, Boolean.class);
+  }
+
+  private final Injector injector;
+  private final Stage stage;
+  private final Map<Key<?>, Binding<?>> bindings;
+
+  private ScopeAnalyzer(final Injector injector, final Stage stage) {
+    this.injector = injector;
+    this.stage = stage;
+    this.bindings = injector.getAllBindings();
+  }
+
+  /**
+   * Analyzes the bindings of {@code injector}, reporting linked binding chains of at least {@link #DEFAULT_CHAIN_LENGTH} links.
+   *
+   * <p>The bindings are analyzed for the stage of the injector, or {@link Stage#PRODUCTION} for an injector
+   * created in {@link Stage#TOOL}.</p>
+   *
+   * @param injector the injector
+   * @return a report
+   */
+  public static @NonNull Report analyze(final @NonNull Injector injector) {
+    return analyze(injector, DEFAULT_CHAIN_LENGTH);
+  }
+
+  /**
+   * Analyzes the bindings of {@code injector}.
+   *
+   * <p>The bindings are analyzed for the stage of the injector, or {@link Stage#PRODUCTION} for an injector
+   * created in {@link Stage#TOOL}.</p>
+   *
+   * @param injector the injector
+   * @param chainLength the length of a linked binding chain to report
+   * @return a report
+   */
+  public static @NonNull Report analyze(final @NonNull Injector injector, final int chainLength) {
+    final Stage stage = stage(injector);
+    return analyze(injector, stage == Stage.TOOL ? Stage.PRODUCTION : stage, chainLength);
+  }
+
+  /**
+   * Analyzes the bindings of {@code injector} as if it were created in {@code stage}, reporting linked binding
+   * chains of at least {@link #DEFAULT_CHAIN_LENGTH} links.
+   *
+   * <p>The stage determines which singletons are eager - in {@link Stage#PRODUCTION}, all singletons are.</p>
+   *
+   * @param injector the injector
+   * @param stage the stage
+   * @return a report
+   */
+  public static @NonNull Report analyze(final @NonNull Injector injector, final @NonNull Stage stage) {
+    return analyze(injector, stage, DEFAULT_CHAIN_LENGTH);
+  }
+
+  /**
+   * Analyzes the bindings of {@code injector} as if it were created in {@code stage}.
+   *
+   * <p>The stage determines which singletons are eager - in {@link Stage#PRODUCTION}, all singletons are.</p>
+   *
+   * @param injector the injector
+   * @param stage the stage
+   * @param chainLength the length of a linked binding chain to report
+   * @return a report
+   */
+  public static @NonNull Report analyze(final @NonNull Injector injector, final @NonNull Stage stage, final int chainLength) {
+    checkArgument(chainLength > 0, "chain length must be positive");
+    final ScopeAnalyzer analyzer = new ScopeAnalyzer(injector, stage);
+    final Map<Key<?>, Set<Key<?>>> dependents = analyzer.dependents();
+    return new Report(
+      analyzer.unscopedInSingletons(dependents),
+      analyzer.unrequestedEagerSingletons(dependents),
+      analyzer.linkedChains(chainLength),
+      analyzer.redundantLazies()
+    );
+  }
+
+  // key -> the keys of the bindings which depend on it, directly or through a provider or lazy
+  private Map<Key<?>, Set<Key<?>>> dependents() {
+    final Map<Key<?>, Set<Key<?>>> dependents = new HashMap<>();
+    for(final Binding<?> binding : this.bindings.values()) {
+      if(binding instanceof HasDependencies) {
+        for(final Dependency<?> dependency : ((HasDependencies) binding).getDependencies()) {
+          final Key<?> key = dependency.getKey();
+          dependents.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(binding.getKey());
+          /* @Nullable */ Key<?> target = providerTarget(key);
+          if(target == null) {
+            target = lazyTarget(key);
+          }
+          if(target != null) {
+            dependents.computeIfAbsent(target, k -> new LinkedHashSet<>()).add(binding.getKey());
+          }
+        }
+      }
+      if(binding instanceof LinkedKeyBinding<?>) {
+        dependents.computeIfAbsent(((LinkedKeyBinding<?>) binding).getLinkedKey(), key -> new LinkedHashSet<>()).add(binding.getKey());
+      }
+    }
+    return dependents;
+  }
+
+  private Map<Key<?>, Set<Key<?>>> unscopedInSingletons(final Map<Key<?>, Set<Key<?>>> dependents) {
+    // a binding injected through a provider may be created any number of times by its dependent
+    final Set<Key<?>> provided = new HashSet<>();
+    for(final Key<?> key : dependents.keySet()) {
+      final /* @Nullable */ Key<?> target = providerTarget(key);
+      if(target != null) {
+        provided.add(target);
+      }
+    }
+    final Map<Key<?>, Set<Key<?>>> unscoped = new LinkedHashMap<>();
+    for(final Binding<?> binding : this.bindings.values()) {
+      if(isBuiltIn(binding.getKey()) || !isUnscoped(binding) || provided.contains(binding.getKey())) {
+        continue;
+      }
+      final Set<Key<?>> users = dependents.getOrDefault(binding.getKey(), Collections.emptySet());
+      if(users.isEmpty()) {
+        continue;
+      }
+      boolean singletons = true;
+      for(final Key<?> user : users) {
+        final /* @Nullable */ Binding<?> dependent = this.bindings.get(user);
+        if(dependent == null || !this.isSingleton(dependent)) {
+          singletons = false;
+          break;
+        }
+      }
+      if(singletons) {
+        unscoped.put(binding.getKey(), users);
+      }
+    }
+    return unscoped;
+  }
+
+  private Set<Key<?>> unrequestedEagerSingletons(final Map<Key<?>, Set<Key<?>>> dependents) {
+    final Set<Key<?>> eager = new LinkedHashSet<>();
+    for(final Binding<?> binding : this.bindings.values()) {
+      if(!(binding instanceof InstanceBinding<?>) && !isBuiltIn(binding.getKey()) && this.isEager(binding) && !dependents.containsKey(binding.getKey())) {
+        eager.add(binding.getKey());
+      }
+    }
+    return eager;
+  }
+
+  private List<List<Key<?>>> linkedChains(final int length) {
+    final Set<Key<?>> targets = new HashSet<>();
+    for(final Binding<?> binding : this.bindings.values()) {
+      if(binding instanceof LinkedKeyBinding<?>) {
+        targets.add(((LinkedKeyBinding<?>) binding).getLinkedKey());
+      }
+    }
+    final List<List<Key<?>>> chains = new ArrayList<>();
+    for(final Binding<?> binding : this.bindings.values()) {
+      // only report a chain from its start
+      if(!(binding instanceof LinkedKeyBinding<?>) || targets.contains(binding.getKey())) {
+        continue;
+      }
+      final List<Key<?>> chain = new ArrayList<>();
+      chain.add(binding.getKey());
+      /* @Nullable */ Binding<?> link = binding;
+      while(link instanceof LinkedKeyBinding<?>) {
+        final Key<?> next = ((LinkedKeyBinding<?>) link).getLinkedKey();
+        if(chain.contains(next)) {
+          break;
+        }
+        chain.add(next);
+        link = this.bindings.get(next);
+      }
+      if(chain.size() - 1 >= length) {
+        chains.add(Collections.unmodifiableList(chain));
+      }
+    }
+    return chains;
+  }
+
+  private Map<Key<?>, Key<?>> redundantLazies() {
+    final Map<Key<?>, Key<?>> lazies = new LinkedHashMap<>();
+    for(final Key<?> key : this.bindings.keySet()) {
+      final /* @Nullable */ Key<?> target = lazyTarget(key);
+      if(target == null) {
+        continue;
+      }
+      final /* @Nullable */ Binding<?> binding = this.bindings.get(target);
+      if(binding != null && (binding instanceof InstanceBinding<?> || (Scopes.isSingleton(binding) && this.isEager(binding)))) {
+        lazies.put(key, target);
+      }
+    }
+    return lazies;
+  }
+
+  // the stage is read from its binding, as instances cannot be provided in Stage.TOOL
+  private static Stage stage(final Injector injector) {
+    final Binding<Stage> binding = injector.getBinding(Stage.class);
+    return binding instanceof InstanceBinding<?> ? ((InstanceBinding<Stage>) binding).getInstance() : Stage.DEVELOPMENT;
+  }
+
+  private static @Nullable Key<?> providerTarget(final Key<?> key) {
+    final Class<?> raw = key.getTypeLiteral().getRawType();
+    final Type type = key.getTypeLiteral().getType();
+    if((raw == Provider.class || raw == javax.inject.Provider.class) && type instanceof ParameterizedType) {
+      return key.ofType(((ParameterizedType) type).getActualTypeArguments()[0]);
+    }
+    return null;
+  }
+
+  private static @Nullable Key<?> lazyTarget(final Key<?> key) {
+    final Class<?> raw = key.getTypeLiteral().getRawType();
+    final /* @Nullable */ Class<?> primitive = PRIMITIVE_LAZIES.get(raw);
+    if(primitive != null) {
+      return key.ofType(primitive);
+    }
+    final Type type = key.getTypeLiteral().getType();
+    if((raw == Lazy.class || raw == AsyncLazy.class || raw == RefreshingLazy.class) && type instanceof ParameterizedType) {
+      return key.ofType(((ParameterizedType) type).getActualTypeArguments()[0]);
+    }
+    return null;
+  }
+
+  private boolean isEager(final Binding<?> binding) {
+    /* @Nullable */ Binding<?> link = binding;
+    final Set<Key<?>> visited = new HashSet<>();
+    while(link != null && visited.add(link.getKey())) {
+      if(link.acceptScopingVisitor(new EagerVisitor(this.stage))) {
+        return true;
+      }
+      link = link instanceof LinkedKeyBinding<?> ? this.injector.getExistingBinding(((LinkedKeyBinding<?>) link).getLinkedKey()) : null;
+    }
+    return false;
+  }
+
+  // Scopes#isSingleton does not know of lazy singletons
+  private boolean isSingleton(final Binding<?> binding) {
+    if(Scopes.isSingleton(binding)) {
+      return true;
+    }
+    /* @Nullable */ Binding<?> link = binding;
+    final Set<Key<?>> visited = new HashSet<>();
+    while(link != null && visited.add(link.getKey())) {
+      if(link.acceptScopingVisitor(LazySingletonVisitor.INSTANCE)) {
+        return true;
+      }
+      link = link instanceof LinkedKeyBinding<?> ? this.injector.getExistingBinding(((LinkedKeyBinding<?>) link).getLinkedKey()) : null;
+    }
+    return false;
+  }
+
+  private static boolean isUnscoped(final Binding<?> binding) {
+    return binding.acceptScopingVisitor(new DefaultBindingScopingVisitor<Boolean>() {
+      @Override
+      protected Boolean visitOther() {
+        return false;
+      }
+
+      @Override
+      public Boolean visitNoScoping() {
+        return true;
+      }
+
+      @Override
+      public Boolean visitScope(final Scope scope) {
+        return scope == Scopes.NO_SCOPE;
+      }
+    });
+  }
+
+  // bindings guice provides to every injector
+  private static boolean isBuiltIn(final Key<?> key) {
+    final Class<?> raw = key.getTypeLiteral().getRawType();
+    return raw == Injector.class || raw == Stage.class || raw == Logger.class;
+  }
+
+  private static final class LazySingletonVisitor extends DefaultBindingScopingVisitor<Boolean> {
+    static final LazySingletonVisitor INSTANCE = new LazySingletonVisitor();
+
+    @Override
+    protected Boolean visitOther() {
+      return false;
+    }
+
+    @Override
+    public Boolean visitScope(final Scope scope) {
+      return scope == LazySingleton.SCOPE;
+    }
+
+    @Override
+    public Boolean visitScopeAnnotation(final Class<? extends Annotation> scopeAnnotation) {
+      return scopeAnnotation == LazySingleton.class;
+    }
+  }
+
+  private static final class EagerVisitor extends DefaultBindingScopingVisitor<Boolean> {
+    private final Stage stage;
+
+    EagerVisitor(final Stage stage) {
+      this.stage = stage;
+    }
+
+    @Override
+    protected Boolean visitOther() {
+      return false;
+    }
+
+    @Override
+    public Boolean visitEagerSingleton() {
+      return true;
+    }
+
+    @Override
+    public Boolean visitScope(final Scope scope) {
+      return this.stage == Stage.PRODUCTION && scope == Scopes.SINGLETON;
+    }
+
+    @Override
+    public Boolean visitScopeAnnotation(final Class<? extends Annotation> scopeAnnotation) {
+      return this.stage == Stage.PRODUCTION && (scopeAnnotation == Singleton.class || scopeAnnotation == javax.inject.Singleton.class);
+    }
+  }
+
+  /**
+   * The result of analyzing the scopes of an injector.
+   */
+  public static final class Report {
+    private final Map<Key<?>, Set<Key<?>>> unscopedInSingletons;
+    private final Set<Key<?>> unrequestedEagerSingletons;
+    private final List<List<Key<?>>> linkedChains;
+    private final Map<Key<?>, Key<?>> redundantLazies;
+
+    Report(final Map<Key<?>, Set<Key<?>>> unscopedInSingletons, final Set<Key<?>> unrequestedEagerSingletons, final List<List<Key<?>>> linkedChains, final Map<Key<?>, Key<?>> redundantLazies) {
+      this.unscopedInSingletons = Collections.unmodifiableMap(unscopedInSingletons);
+      this.unrequestedEagerSingletons = Collections.unmodifiableSet(unrequestedEagerSingletons);
+      this.linkedChains = Collections.unmodifiableList(linkedChains);
+      this.redundantLazies = Collections.unmodifiableMap(redundantLazies);
+    }
+
+    /**
+     * Gets the unscoped bindings which are only injected into singletons, and the singletons they are injected into.
+     *
+     * <p>Each singleton receives a single instance of the binding, so being unscoped has no effect other than
+     * creating an instance for each singleton.</p>
+     *
+     * @return the unscoped bindings
+     */
+    public @NonNull Map<Key<?>, Set<Key<?>>> unscopedInSingletons() {
+      return this.unscopedInSingletons;
+    }
+
+    /**
+     * Gets the eager singletons which no other binding depends on.
+     *
+     * <p>These are only ever created eagerly, unless requested from the injector directly, and are candidates
+     * for {@link LazySingleton}.</p>
+     *
+     * @return the eager singletons
+     */
+    public @NonNull Set<Key<?>> unrequestedEagerSingletons() {
+      return this.unrequestedEagerSingletons;
+    }
+
+    /**
+     * Gets the chains of linked bindings, each starting with the key which is not itself a link target.
+     *
+     * @return the linked binding chains
+     */
+    public @NonNull List<List<Key<?>>> linkedChains() {
+      return this.linkedChains;
+    }
+
+    /**
+     * Gets the lazy bindings whose target is already an instance or an eager singleton, and their target.
+     *
+     * @return the lazy bindings
+     */
+    public @NonNull Map<Key<?>, Key<?>> redundantLazies() {
+      return this.redundantLazies;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder sb = new StringBuilder("ScopeAnalyzer.Report{");
+      sb.append("unscopedInSingletons=").append(this.unscopedInSingletons.keySet());
+      sb.append(", unrequestedEagerSingletons=").append(this.unrequestedEagerSingletons);
+      sb.append(", linkedChains=").append(this.linkedChains);
+      sb.append(", redundantLazies=").append(this.redundantLazies.keySet());
+      return sb.append('}').toString();
+    }
+  }
+}
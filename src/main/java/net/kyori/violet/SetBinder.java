@@ -23,54 +23,114 @@
  */
 package net.kyori.violet;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.BindingAnnotation;
+import com.google.inject.Injector;
 import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.PrivateBinder;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
 import com.google.inject.binder.LinkedBindingBuilder;
+import com.google.inject.multibindings.MapBinderBinding;
+import com.google.inject.multibindings.MultibinderBinding;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.MultibindingsTargetVisitor;
+import com.google.inject.multibindings.OptionalBinderBinding;
+import com.google.inject.spi.DefaultBindingTargetVisitor;
+import com.google.inject.spi.ProviderInstanceBinding;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * A wrapper around a {@link Multibinder} to reduce code duplication.
  *
+ * <p>Elements may be added with a {@link #addBinding(int) priority}. The elements ordered by priority are bound as
+ * {@link Ordered} with the same annotation as the set - elements with a lower priority come first, and elements
+ * with the same priority are ordered as they are in the set. Elements added without a priority have a priority of
+ * {@code 0}. The ordered elements are created once, so they should be singletons.</p>
+ *
+ * <p>In {@link Mode#SNAPSHOT snapshot mode}, the set is provided as a single cached snapshot when all of its
+ * elements are singletons.</p>
+ *
  * @param <T> the element type
  * @see Multibinder
  */
 public class SetBinder<T> {
   protected final Multibinder<T> binder;
+  // null if created from a multibinder
+  private final @Nullable Binder owner;
+  private final @Nullable TypeLiteral<T> type;
 
   public SetBinder(final @NonNull Binder binder, final @NonNull TypeLiteral<T> type) {
-    this(Multibinder.newSetBinder(binder, type));
+    this(binder, Key.get(type));
   }
 
   public SetBinder(final @NonNull Binder binder, final @NonNull TypeLiteral<T> type, final @NonNull Class<? extends Annotation> annotation) {
-    this(Multibinder.newSetBinder(binder, type, annotation));
+    this(binder, Key.get(type, annotation));
   }
 
   public SetBinder(final @NonNull Binder binder, final @NonNull TypeLiteral<T> type, final @NonNull Annotation annotation) {
-    this(Multibinder.newSetBinder(binder, type, annotation));
+    this(binder, Key.get(type, annotation));
   }
 
   public SetBinder(final @NonNull Binder binder, final @NonNull Class<T> type) {
-    this(Multibinder.newSetBinder(binder, type));
+    this(binder, Key.get(type));
   }
 
   public SetBinder(final @NonNull Binder binder, final @NonNull Class<T> type, final @NonNull Class<? extends Annotation> annotation) {
-    this(Multibinder.newSetBinder(binder, type, annotation));
+    this(binder, Key.get(type, annotation));
   }
 
   public SetBinder(final @NonNull Binder binder, final @NonNull Class<T> type, final @NonNull Annotation annotation) {
-    this(Multibinder.newSetBinder(binder, type, annotation));
+    this(binder, Key.get(type, annotation));
   }
 
   public SetBinder(final @NonNull Binder binder, final @NonNull Key<T> key) {
-    this(Multibinder.newSetBinder(binder, key));
+    this(binder, key, Mode.MULTIBINDER);
+  }
+
+  public SetBinder(final @NonNull Binder binder, final @NonNull Key<T> key, final @NonNull Mode mode) {
+    this.owner = binder.skipSources(SetBinder.class);
+    this.type = key.getTypeLiteral();
+    // in snapshot mode, the multibinder collects the elements under an internal key
+    final Key<T> elements = mode == Mode.SNAPSHOT ? Key.get(key.getTypeLiteral(), new ElementsImpl(key.toString())) : key;
+    this.binder = Multibinder.newSetBinder(this.owner, elements);
+    // installed once per key - the modules are equal to any other for the same key
+    this.owner.install(new OrderedModule<>(key, elements));
+    if(mode == Mode.SNAPSHOT) {
+      this.owner.install(new SnapshotModule<>(key, elements));
+    }
   }
 
+  /**
+   * Creates a set binder from a multibinder.
+   *
+   * <p>A set binder created from a multibinder does not support priorities.</p>
+   *
+   * @param binder the multibinder
+   */
   public SetBinder(final @NonNull Multibinder<T> binder) {
     this.binder = binder;
+    this.owner = null;
+    this.type = null;
   }
 
   /**
@@ -84,4 +144,332 @@ public class SetBinder<T> {
   public @NonNull LinkedBindingBuilder<T> addBinding() {
     return this.binder.addBinding();
   }
+
+  /**
+   * Returns a binding builder used to add a new element in the set with a priority.
+   *
+   * <p>Each bound element must have a distinct value. Unlike elements added {@link #addBinding() without a priority},
+   * an element with a priority is never deduplicated.</p>
+   *
+   * @param priority the priority - elements with a lower priority come first in the ordered elements
+   * @return a binding builder
+   * @see Multibinder#addBinding()
+   */
+  public @NonNull LinkedBindingBuilder<T> addBinding(final int priority) {
+    checkState(this.owner != null && this.type != null, "Priorities are not supported by a SetBinder created from a Multibinder");
+    final PrivateBinder binder = this.owner.newPrivateBinder();
+    final PrivateElement<T> element = new PrivateElement<>(binder, this.type);
+    this.binder.addBinding().toProvider(new Prioritized<>(priority, element));
+    return element.bind(binder);
+  }
+
+  private static <T> Key<Set<T>> setKey(final Key<T> key) {
+    return key.ofType(new FriendlyTypeLiteral<Set<T>>() {}.where(new TypeArgument<T>(key.getTypeLiteral()) {}));
+  }
+
+  private static <T> Key<Ordered<T>> orderedKey(final Key<T> key) {
+    return key.ofType(new FriendlyTypeLiteral<Ordered<T>>() {}.where(new TypeArgument<T>(key.getTypeLiteral()) {}));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<Element<T>> sorted(final Injector injector, final Key<Set<T>> key) {
+    final List<Binding<?>> bindings = injector.getBinding(key).acceptTargetVisitor(new ElementsVisitor<>());
+    final List<Element<T>> sorted = new ArrayList<>(bindings.size());
+    for(final Binding<?> binding : bindings) {
+      sorted.add(Element.of((Binding<T>) binding));
+    }
+    // stable, so elements with the same priority remain in set order
+    sorted.sort(Comparator.comparingInt(element -> element.priority));
+    return sorted;
+  }
+
+  /**
+   * The way a set is provided.
+   */
+  public enum Mode {
+    /**
+     * The set is provided by a {@link Multibinder}, which creates a new set each time it is provided.
+     */
+    MULTIBINDER,
+    /**
+     * The set is provided by violet, ordered by priority.
+     *
+     * <p>If all elements are singletons, a single snapshot of the set is created and provided each time.
+     * Otherwise, a new set is created each time it is provided. The scopes of the elements are checked once,
+     * when the injector is created.</p>
+     *
+     * <p>All elements must be added through set binders in this mode - the set is not a multibinding, so a
+     * {@link Multibinder} for the same key will conflict with it.</p>
+     */
+    SNAPSHOT;
+  }
+
+  /**
+   * The elements of a set, ordered by priority.
+   *
+   * @param <T> the element type
+   * @see #addBinding(int)
+   */
+  public static final class Ordered<T> implements Iterable<T> {
+    private final ImmutableList<T> elements;
+
+    Ordered(final ImmutableList<T> elements) {
+      this.elements = elements;
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+      return this.elements.size();
+    }
+
+    /**
+     * Gets the element at an index.
+     *
+     * @param index the index
+     * @return the element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public @NonNull T get(final int index) {
+      return this.elements.get(index);
+    }
+
+    /**
+     * Gets an immutable list of the elements.
+     *
+     * @return the elements
+     */
+    public @NonNull List<T> asList() {
+      return this.elements;
+    }
+
+    @Override
+    public @NonNull Iterator<T> iterator() {
+      return this.elements.iterator();
+    }
+
+    @Override
+    public String toString() {
+      return this.elements.toString();
+    }
+  }
+
+  // the multibinder element of an element with a priority
+  private static final class Prioritized<T> implements Provider<T> {
+    final int priority;
+    final PrivateElement<T> element;
+
+    Prioritized(final int priority, final PrivateElement<T> element) {
+      this.priority = priority;
+      this.element = element;
+    }
+
+    @Override
+    public T get() {
+      return this.element.get();
+    }
+
+    @Override
+    public String toString() {
+      return "Prioritized{priority=" + this.priority + ", element=" + this.element + '}';
+    }
+  }
+
+  private static final class Element<T> {
+    final int priority;
+    final Provider<T> provider;
+    final boolean singleton;
+
+    private Element(final int priority, final Provider<T> provider, final boolean singleton) {
+      this.priority = priority;
+      this.provider = provider;
+      this.singleton = singleton;
+    }
+
+    static <T> Element<T> of(final Binding<T> binding) {
+      if(binding instanceof ProviderInstanceBinding) {
+        final javax.inject.Provider<? extends T> provider = ((ProviderInstanceBinding<T>) binding).getUserSuppliedProvider();
+        if(provider instanceof Prioritized) {
+          @SuppressWarnings("unchecked")
+          final Prioritized<T> prioritized = (Prioritized<T>) provider;
+          return new Element<>(prioritized.priority, prioritized, prioritized.element.singleton());
+        }
+      }
+      return new Element<>(0, binding.getProvider(), Scopes.isSingleton(binding));
+    }
+  }
+
+  // collects the element bindings of a multibinder
+  private static final class ElementsVisitor<T> extends DefaultBindingTargetVisitor<Set<T>, List<Binding<?>>> implements MultibindingsTargetVisitor<Set<T>, List<Binding<?>>> {
+    @Override
+    public List<Binding<?>> visit(final MultibinderBinding<? extends Set<T>> multibinding) {
+      return multibinding.getElements();
+    }
+
+    @Override
+    public List<Binding<?>> visit(final MapBinderBinding<? extends Set<T>> mapbinding) {
+      throw new IllegalStateException("Expected a multibinder, found " + mapbinding);
+    }
+
+    @Override
+    public List<Binding<?>> visit(final OptionalBinderBinding<? extends Set<T>> optionalbinding) {
+      throw new IllegalStateException("Expected a multibinder, found " + optionalbinding);
+    }
+
+    @Override
+    protected List<Binding<?>> visitOther(final Binding<? extends Set<T>> binding) {
+      throw new IllegalStateException("Expected a multibinder, found " + binding);
+    }
+  }
+
+  private static final class OrderedModule<T> implements Module {
+    private final Key<T> key;
+    private final Key<T> elements;
+
+    OrderedModule(final Key<T> key, final Key<T> elements) {
+      this.key = key;
+      this.elements = elements;
+    }
+
+    @Override
+    public void configure(final Binder binder) {
+      final Provider<Injector> injector = binder.getProvider(Injector.class);
+      final Key<Set<T>> elements = setKey(this.elements);
+      binder.bind(orderedKey(this.key)).toProvider(() -> {
+        final ImmutableList.Builder<T> list = ImmutableList.builder();
+        for(final Element<T> element : sorted(injector.get(), elements)) {
+          list.add(element.provider.get());
+        }
+        return new Ordered<>(list.build());
+      }).in(Scopes.SINGLETON);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof OrderedModule && this.key.equals(((OrderedModule<?>) other).key);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.key.hashCode();
+    }
+  }
+
+  private static final class SnapshotModule<T> implements Module {
+    private final Key<T> key;
+    private final Key<T> elements;
+
+    SnapshotModule(final Key<T> key, final Key<T> elements) {
+      this.key = key;
+      this.elements = elements;
+    }
+
+    @Override
+    public void configure(final Binder binder) {
+      binder.bind(setKey(this.key)).toProvider(new SnapshotProvider<>(setKey(this.elements)));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof SnapshotModule && this.key.equals(((SnapshotModule<?>) other).key);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.key.hashCode();
+    }
+  }
+
+  private static final class SnapshotProvider<T> implements Provider<Set<T>> {
+    private final Key<Set<T>> elements;
+    private boolean singletons;
+    // written when the injector is created, after singletons
+    private volatile @Nullable List<Element<T>> sorted;
+    // racy, but creating more than one snapshot is harmless
+    private volatile @Nullable Set<T> snapshot;
+
+    SnapshotProvider(final Key<Set<T>> elements) {
+      this.elements = elements;
+    }
+
+    @Inject
+    void initialize(final Injector injector) {
+      final List<Element<T>> sorted = sorted(injector, this.elements);
+      this.singletons = singletons(sorted);
+      this.sorted = ImmutableList.copyOf(sorted);
+    }
+
+    @Override
+    public Set<T> get() {
+      final /* @Nullable */ Set<T> snapshot = this.snapshot;
+      if(snapshot != null) {
+        return snapshot;
+      }
+      final /* @Nullable */ List<Element<T>> sorted = this.sorted;
+      checkState(sorted != null, "The set cannot be provided until the injector has been created");
+      final ImmutableSet.Builder<T> builder = ImmutableSet.builder();
+      for(final Element<T> element : sorted) {
+        builder.add(element.provider.get());
+      }
+      final Set<T> set = builder.build();
+      checkState(set.size() == sorted.size(), "Set injection failed due to duplicated element");
+      if(this.singletons) {
+        this.snapshot = set;
+      }
+      return set;
+    }
+
+    private static <T> boolean singletons(final List<Element<T>> elements) {
+      for(final Element<T> element : elements) {
+        if(!element.singleton) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  // the key of the elements of a set in snapshot mode
+  @BindingAnnotation
+  @Retention(RetentionPolicy.RUNTIME)
+  @interface Elements {
+    String value();
+  }
+
+  private static final class ElementsImpl implements Elements {
+    private final String value;
+
+    ElementsImpl(final String value) {
+      this.value = value;
+    }
+
+    @Override
+    public String value() {
+      return this.value;
+    }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+      return Elements.class;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof Elements && this.value.equals(((Elements) other).value());
+    }
+
+    @Override
+    public int hashCode() {
+      // as specified by Annotation#hashCode()
+      return (127 * "value".hashCode()) ^ this.value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "@" + Elements.class.getName() + "(value=" + this.value + ")";
+    }
+  }
 }
@@ -0,0 +1,86 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Tracks the sources skipped by a binder wrapper, and memoizes the wrappers created when skipping further sources.
+ *
+ * @param <W> the wrapper type
+ */
+final class SkippedSources<W> {
+  private final Set<Class<?>> classes;
+  private volatile @Nullable Map<Set<Class<?>>, W> wrappers;
+
+  private SkippedSources(final Set<Class<?>> classes) {
+    this.classes = classes;
+  }
+
+  static <W> @NonNull SkippedSources<W> of(final Class<?> @NonNull [] classes) {
+    return new SkippedSources<>(ImmutableSet.copyOf(classes));
+  }
+
+  /**
+   * Creates a new tracker skipping the same sources, without any memoized wrappers.
+   *
+   * @return a new tracker
+   */
+  @NonNull SkippedSources<W> copy() {
+    return new SkippedSources<>(this.classes);
+  }
+
+  /**
+   * Gets a wrapper which skips {@code classes}.
+   *
+   * <p>{@code wrapper} is returned if it already skips all of {@code classes}, otherwise a wrapper
+   * is created using {@code factory} once per distinct set of classes.</p>
+   *
+   * @param wrapper the wrapper
+   * @param classes the classes to skip
+   * @param factory the wrapper factory
+   * @return a wrapper
+   */
+  @NonNull W skip(final @NonNull W wrapper, final Class<?> @NonNull [] classes, final @NonNull BiFunction<Class<?>[], SkippedSources<W>, W> factory) {
+    final Set<Class<?>> requested = ImmutableSet.copyOf(classes);
+    if(this.classes.containsAll(requested)) {
+      return wrapper;
+    }
+    /* @Nullable */ Map<Set<Class<?>>, W> wrappers = this.wrappers;
+    if(wrappers == null) {
+      // losing a race here only loses memoization
+      wrappers = new ConcurrentHashMap<>(4);
+      this.wrappers = wrappers;
+    }
+    return wrappers.computeIfAbsent(requested, key -> factory.apply(classes, new SkippedSources<>(Sets.union(this.classes, key).immutableCopy())));
+  }
+}
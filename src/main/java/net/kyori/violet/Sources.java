@@ -0,0 +1,124 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Binder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Controls how sources are identified for elements bound by {@link AbstractModule}s and {@link DuplexModule}s.
+ *
+ * <p>The mode defaults to the value of the {@code violet.sources} system property, or {@link Mode#STACK_TRACE} if not set
+ * or not a known mode.</p>
+ */
+public final class Sources {
+  private static final ClassValue<StackTraceElement> SOURCES = new ClassValue<StackTraceElement>() {
+    @Override
+    protected StackTraceElement computeValue(final Class<?> type) {
+      // the same shape of source Guice uses when stack traces are not included
+      return new StackTraceElement(type.getName(), "configure", null, -1);
+    }
+  };
+  private static final Logger LOGGER = Logger.getLogger(Sources.class.getName());
+  private static volatile Mode mode = parse(System.getProperty("violet.sources"));
+
+  private Sources() {
+  }
+
+  // an unknown mode must not prevent modules from being configured, so it is only warned about
+  static @NonNull Mode parse(final @Nullable String value) {
+    if(value == null) {
+      return Mode.STACK_TRACE;
+    }
+    try {
+      return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch(final IllegalArgumentException e) {
+      LOGGER.log(Level.WARNING, "Unknown violet.sources mode \"{0}\", expected one of {1} - using {2}", new Object[]{value, Arrays.toString(Mode.values()), Mode.STACK_TRACE});
+      return Mode.STACK_TRACE;
+    }
+  }
+
+  /**
+   * Gets the current mode.
+   *
+   * @return the current mode
+   */
+  public static @NonNull Mode mode() {
+    return mode;
+  }
+
+  /**
+   * Sets the mode.
+   *
+   * <p>Only modules configured after the mode has been set are affected.</p>
+   *
+   * @param mode the mode
+   */
+  public static void mode(final @NonNull Mode mode) {
+    Sources.mode = requireNonNull(mode, "mode");
+  }
+
+  /**
+   * Gets the pre-computed source for a module.
+   *
+   * @param module the module class
+   * @return the source
+   */
+  static @NonNull Object source(final @NonNull Class<?> module) {
+    return SOURCES.get(module);
+  }
+
+  static @NonNull Binder binder(final @NonNull Binder binder, final @NonNull Object module) {
+    return mode == Mode.PRECOMPUTED ? binder.withSource(source(module.getClass())) : binder;
+  }
+
+  static @NonNull DuplexBinder binder(final @NonNull DuplexBinder binder, final @NonNull Object module) {
+    return mode == Mode.PRECOMPUTED ? binder.withSource(source(module.getClass())) : binder;
+  }
+
+  /**
+   * A mode of identifying sources.
+   */
+  public enum Mode {
+    /**
+     * Sources are identified by Guice, by walking the stack of the code calling the binder.
+     */
+    STACK_TRACE,
+    /**
+     * Sources are pre-computed once per module class, and no stack walking is performed.
+     *
+     * <p>Elements are attributed to the {@code configure} method of their module class, rather than
+     * to the exact line they were bound on. Plain Guice modules installed by a module share its source.</p>
+     */
+    PRECOMPUTED;
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scope;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * A scope which reuses an instance for each thread.
+ *
+ * <p>Each scoped binding has its own {@link ThreadLocal}, so requesting an instance is a single thread-local
+ * lookup rather than a lookup of the binding in a per-thread map.</p>
+ *
+ * <p>Instances are retained until their thread dies or until they are {@link #clear() cleared}. Threads which
+ * are pooled, and which run unrelated tasks, should clear their instances once done - either directly, or by
+ * running tasks through {@link #wrap(Runnable)} or {@link #wrap(Executor)}.</p>
+ *
+ * @see PerThread
+ */
+public final class ThreadScope implements Scope {
+  private final String name;
+  // the thread locals of the bindings scoped by this scope - weak, so that discarded injectors can be collected
+  private final Set<ThreadLocal<?>> locals = Collections.newSetFromMap(new WeakHashMap<>());
+
+  private ThreadScope(final String name) {
+    this.name = name;
+  }
+
+  /**
+   * Creates a scope which reuses an instance for each thread.
+   *
+   * @param name the name of the scope
+   * @return a new scope
+   */
+  public static @NonNull ThreadScope create(final @NonNull String name) {
+    return new ThreadScope(name);
+  }
+
+  @Override
+  public <T> Provider<T> scope(final Key<T> key, final Provider<T> unscoped) {
+    final ThreadLocal<T> local = new ThreadLocal<>();
+    synchronized(this.locals) {
+      this.locals.add(local);
+    }
+    return new Provider<T>() {
+      @Override
+      public T get() {
+        final /* @Nullable */ T value = local.get();
+        if(value != null) {
+          return value;
+        }
+        final T instance = unscoped.get();
+        // null instances are not retained, and will be provisioned again on the next request
+        if(instance != null) {
+          local.set(instance);
+        }
+        return instance;
+      }
+
+      @Override
+      public String toString() {
+        return unscoped + "[" + ThreadScope.this + "]";
+      }
+    };
+  }
+
+  /**
+   * Discards the instances of the current thread.
+   */
+  public void clear() {
+    for(final ThreadLocal<?> local : this.locals()) {
+      local.remove();
+    }
+  }
+
+  /**
+   * Discards the instances of the current thread, passing each discarded instance to {@code action}.
+   *
+   * <p>This allows instances which hold resources, such as a {@link java.util.zip.Deflater}, to release them.</p>
+   *
+   * @param action the action to perform on each discarded instance
+   */
+  public void clear(final @NonNull Consumer<Object> action) {
+    for(final ThreadLocal<?> local : this.locals()) {
+      final /* @Nullable */ Object value = local.get();
+      local.remove();
+      if(value != null) {
+        action.accept(value);
+      }
+    }
+  }
+
+  private List<ThreadLocal<?>> locals() {
+    synchronized(this.locals) {
+      return new ArrayList<>(this.locals);
+    }
+  }
+
+  /**
+   * Wraps {@code task} so that the instances of the thread running it are discarded once it completes.
+   *
+   * @param task the task
+   * @return a task
+   */
+  public @NonNull Runnable wrap(final @NonNull Runnable task) {
+    return () -> {
+      try {
+        task.run();
+      } finally {
+        this.clear();
+      }
+    };
+  }
+
+  /**
+   * Wraps {@code executor} so that the instances of the thread running each task are discarded once the task completes.
+   *
+   * @param executor the executor
+   * @return an executor
+   */
+  public @NonNull Executor wrap(final @NonNull Executor executor) {
+    return task -> executor.execute(this.wrap(task));
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+}
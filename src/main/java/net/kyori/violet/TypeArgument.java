@@ -29,6 +29,9 @@ import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
 /**
  * A {@link TypeParameter} which contains the type argument.
  *
@@ -40,6 +43,10 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  * @see TypeToken#where(TypeParameter, TypeToken)
  */
 public abstract class TypeArgument<T> extends TypeParameter<T> {
+  /**
+   * The type variable.
+   */
+  final @NonNull Type variable;
   /**
    * The actual type.
    */
@@ -58,6 +65,8 @@ public abstract class TypeArgument<T> extends TypeParameter<T> {
   }
 
   public TypeArgument(final @NonNull TypeToken<? extends T> actual) {
+    // TypeParameter has already verified that this is a type variable
+    this.variable = ((ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments()[0];
     this.actual = actual;
   }
 }
@@ -35,6 +35,8 @@ import java.util.Set;
 
 /**
  * A collection of methods for constructing common parameterized type literals.
+ *
+ * <p>Type literals are canonicalized - equal type literals returned by these methods are the same instance.</p>
  */
 public interface TypeLiterals {
   /**
@@ -46,7 +48,7 @@ public interface TypeLiterals {
    * @see Types#collectionOf(Type)
    */
   static <T> @NonNull TypeLiteral<Collection<T>> collectionOf(final @NonNull Class<T> type) {
-    return collectionOf(TypeLiteral.get(type));
+    return EvenMoreTypes.canonicalLiteral(Types.collectionOf(type));
   }
 
   /**
@@ -58,7 +60,7 @@ public interface TypeLiterals {
    * @see Types#collectionOf(Type)
    */
   static <T> @NonNull TypeLiteral<Collection<T>> collectionOf(final @NonNull TypeLiteral<T> type) {
-    return new FriendlyTypeLiteral<Collection<T>>() {}.where(new TypeArgument<T>(type) {});
+    return EvenMoreTypes.canonicalLiteral(Types.collectionOf(type.getType()));
   }
 
   /**
@@ -70,7 +72,7 @@ public interface TypeLiterals {
    * @see Types#listOf(Type)
    */
   static <T> @NonNull TypeLiteral<List<T>> listOf(final @NonNull Class<T> type) {
-    return listOf(TypeLiteral.get(type));
+    return EvenMoreTypes.canonicalLiteral(Types.listOf(type));
   }
 
   /**
@@ -82,7 +84,7 @@ public interface TypeLiterals {
    * @see Types#listOf(Type)
    */
   static <T> @NonNull TypeLiteral<List<T>> listOf(final @NonNull TypeLiteral<T> type) {
-    return new FriendlyTypeLiteral<List<T>>() {}.where(new TypeArgument<T>(type) {});
+    return EvenMoreTypes.canonicalLiteral(Types.listOf(type.getType()));
   }
 
   /**
@@ -97,7 +99,7 @@ public interface TypeLiterals {
    * @see Types#mapOf(Type, Type)
    */
   static <K, V> @NonNull TypeLiteral<Map<K, V>> mapOf(final @NonNull Class<K> key, final @NonNull Class<V> value) {
-    return mapOf(TypeLiteral.get(key), TypeLiteral.get(value));
+    return EvenMoreTypes.canonicalLiteral(Types.mapOf(key, value));
   }
 
   /**
@@ -112,7 +114,7 @@ public interface TypeLiterals {
    * @see Types#mapOf(Type, Type)
    */
   static <K, V> @NonNull TypeLiteral<Map<K, V>> mapOf(final @NonNull Class<K> key, final @NonNull TypeLiteral<V> value) {
-    return mapOf(TypeLiteral.get(key), value);
+    return EvenMoreTypes.canonicalLiteral(Types.mapOf(key, value.getType()));
   }
 
   /**
@@ -127,7 +129,7 @@ public interface TypeLiterals {
    * @see Types#mapOf(Type, Type)
    */
   static <K, V> @NonNull TypeLiteral<Map<K, V>> mapOf(final @NonNull TypeLiteral<K> key, final @NonNull Class<V> value) {
-    return mapOf(key, TypeLiteral.get(value));
+    return EvenMoreTypes.canonicalLiteral(Types.mapOf(key.getType(), value));
   }
 
   /**
@@ -142,7 +144,7 @@ public interface TypeLiterals {
    * @see Types#mapOf(Type, Type)
    */
   static <K, V> @NonNull TypeLiteral<Map<K, V>> mapOf(final @NonNull TypeLiteral<K> key, final @NonNull TypeLiteral<V> value) {
-    return new FriendlyTypeLiteral<Map<K, V>>() {}.where(new TypeArgument<K>(key) {}, new TypeArgument<V>(value) {});
+    return EvenMoreTypes.canonicalLiteral(Types.mapOf(key.getType(), value.getType()));
   }
 
   /**
@@ -154,7 +156,7 @@ public interface TypeLiterals {
    * @see Types#setOf(Type)
    */
   static <T> @NonNull TypeLiteral<Set<T>> setOf(final @NonNull Class<T> type) {
-    return setOf(TypeLiteral.get(type));
+    return EvenMoreTypes.canonicalLiteral(Types.setOf(type));
   }
 
   /**
@@ -166,6 +168,6 @@ public interface TypeLiterals {
    * @see Types#setOf(Type)
    */
   static <T> @NonNull TypeLiteral<Set<T>> setOf(final @NonNull TypeLiteral<T> type) {
-    return new FriendlyTypeLiteral<Set<T>>() {}.where(new TypeArgument<T>(type) {});
+    return EvenMoreTypes.canonicalLiteral(Types.setOf(type.getType()));
   }
 }
@@ -24,15 +24,21 @@
 package net.kyori.violet;
 
 import com.google.inject.Binder;
+import com.google.inject.Binding;
 import com.google.inject.Key;
+import com.google.inject.Stage;
 import com.google.inject.TypeLiteral;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 import com.google.inject.binder.AnnotatedBindingBuilder;
+import com.google.inject.matcher.Matcher;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.multibindings.OptionalBinder;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 /**
@@ -106,6 +112,17 @@ public interface VBinder extends ForwardingBinder {
     return this.inSet(Key.get(type));
   }
 
+  /**
+   * Installs a {@link ModuleSnapshot snapshot} of {@code module} for the current stage, configuring
+   * the module only if it has not already been recorded.
+   *
+   * @param module the module
+   * @see ModuleSnapshot#of(Stage, SingletonModule)
+   */
+  default void installSnapshot(final @NonNull SingletonModule module) {
+    this.install(ModuleSnapshot.of(this.currentStage(), module));
+  }
+
   /**
    * Installs a factory module for the specified key.
    *
@@ -177,6 +194,77 @@ public interface VBinder extends ForwardingBinder {
     this.installFactory(Key.get(type), consumer);
   }
 
+  /**
+   * Installs a generated factory module for the specified key.
+   *
+   * @param key the key of the factory module to bind
+   * @param <T> the type of object
+   * @see FactoryBuilder#build(Key)
+   */
+  default <T> void installGeneratedFactory(final @NonNull Key<T> key) {
+    this.install(new FactoryBuilder().build(key));
+  }
+
+  /**
+   * Installs a generated factory module for the specified type.
+   *
+   * @param type the type of the factory module to bind
+   * @param <T> the type of object
+   * @see FactoryBuilder#build(TypeLiteral)
+   */
+  default <T> void installGeneratedFactory(final @NonNull TypeLiteral<T> type) {
+    this.installGeneratedFactory(Key.get(type));
+  }
+
+  /**
+   * Installs a generated factory module for the specified type.
+   *
+   * @param type the type of the factory module to bind
+   * @param <T> the type of object
+   * @see FactoryBuilder#build(Class)
+   */
+  default <T> void installGeneratedFactory(final @NonNull Class<T> type) {
+    this.installGeneratedFactory(Key.get(type));
+  }
+
+  /**
+   * Installs a generated factory module for the specified key, and allow a consumer to provide additional configuration information.
+   *
+   * @param key the key of the factory module to bind
+   * @param consumer the consumer used to provide additional configuration information
+   * @param <T> the type of object
+   * @see FactoryBuilder#build(Key)
+   */
+  default <T> void installGeneratedFactory(final @NonNull Key<T> key, final @NonNull Consumer<FactoryBuilder> consumer) {
+    final FactoryBuilder builder = new FactoryBuilder();
+    consumer.accept(builder);
+    this.install(builder.build(key));
+  }
+
+  /**
+   * Installs a generated factory module for the specified type, and allow a consumer to provide additional configuration information.
+   *
+   * @param type the type of the factory module to bind
+   * @param consumer the consumer used to provide additional configuration information
+   * @param <T> the type of object
+   * @see FactoryBuilder#build(TypeLiteral)
+   */
+  default <T> void installGeneratedFactory(final @NonNull TypeLiteral<T> type, final @NonNull Consumer<FactoryBuilder> consumer) {
+    this.installGeneratedFactory(Key.get(type), consumer);
+  }
+
+  /**
+   * Installs a generated factory module for the specified type, and allow a consumer to provide additional configuration information.
+   *
+   * @param type the type of the factory module to bind
+   * @param consumer the consumer used to provide additional configuration information
+   * @param <T> the type of object
+   * @see FactoryBuilder#build(Class)
+   */
+  default <T> void installGeneratedFactory(final @NonNull Class<T> type, final @NonNull Consumer<FactoryBuilder> consumer) {
+    this.installGeneratedFactory(Key.get(type), consumer);
+  }
+
   /**
    * Creates a binding builder for a lazily-loaded type.
    *
@@ -186,7 +274,7 @@ public interface VBinder extends ForwardingBinder {
    * @see Lazy
    */
   default <T> @NonNull AnnotatedBindingBuilder<T> bindLazy(final @NonNull Key<T> key) {
-    return new LazyBindingBuilder<>(this.binder(), key);
+    return this.bindLazy(key, Lazy.Mode.UNSYNCHRONIZED);
   }
 
   /**
@@ -213,6 +301,387 @@ public interface VBinder extends ForwardingBinder {
     return this.bindLazy(Key.get(type));
   }
 
+  /**
+   * Creates a binding builder for a lazily-loaded type.
+   *
+   * @param key the key to create a binding builder for a lazy {@code T}
+   * @param mode the thread-safety mode of the lazy
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see Lazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazy(final @NonNull Key<T> key, final Lazy.@NonNull Mode mode) {
+    return LazyBindingBuilder.lazy(this.binder(), key, mode);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded type.
+   *
+   * @param type the type to create a binding builder for a lazy {@code T}
+   * @param mode the thread-safety mode of the lazy
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see Lazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazy(final @NonNull TypeLiteral<T> type, final Lazy.@NonNull Mode mode) {
+    return this.bindLazy(Key.get(type), mode);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded type.
+   *
+   * @param type the type to create a binding builder for a lazy {@code T}
+   * @param mode the thread-safety mode of the lazy
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see Lazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazy(final @NonNull Class<T> type, final Lazy.@NonNull Mode mode) {
+    return this.bindLazy(Key.get(type), mode);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded type which caches failures.
+   *
+   * <p>A single lazy is shared by all injection points, so that failures are cached and retried once for the
+   * binding - and so the value, once loaded, is also shared.</p>
+   *
+   * @param key the key to create a binding builder for a lazy {@code T}
+   * @param policy the failure policy of the lazy
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see FailureAwareLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazy(final @NonNull Key<T> key, final @NonNull FailurePolicy policy) {
+    return LazyBindingBuilder.failureAware(this.binder(), key, policy);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded type which caches failures.
+   *
+   * <p>A single lazy is shared by all injection points, so that failures are cached and retried once for the
+   * binding - and so the value, once loaded, is also shared.</p>
+   *
+   * @param type the type to create a binding builder for a lazy {@code T}
+   * @param policy the failure policy of the lazy
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see FailureAwareLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazy(final @NonNull TypeLiteral<T> type, final @NonNull FailurePolicy policy) {
+    return this.bindLazy(Key.get(type), policy);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded type which caches failures.
+   *
+   * <p>A single lazy is shared by all injection points, so that failures are cached and retried once for the
+   * binding - and so the value, once loaded, is also shared.</p>
+   *
+   * @param type the type to create a binding builder for a lazy {@code T}
+   * @param policy the failure policy of the lazy
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see FailureAwareLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazy(final @NonNull Class<T> type, final @NonNull FailurePolicy policy) {
+    return this.bindLazy(Key.get(type), policy);
+  }
+
+  /**
+   * Creates a binding builder for an asynchronously-loaded type.
+   *
+   * <p>The bound {@link AsyncLazy} begins loading its value on the {@link ForkJoinPool#commonPool() common pool}
+   * as soon as it is injected.</p>
+   *
+   * @param key the key to create a binding builder for an async lazy {@code T}
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see AsyncLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazyAsync(final @NonNull Key<T> key) {
+    return this.bindLazyAsync(key, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a binding builder for an asynchronously-loaded type.
+   *
+   * <p>The bound {@link AsyncLazy} begins loading its value on the {@link ForkJoinPool#commonPool() common pool}
+   * as soon as it is injected.</p>
+   *
+   * @param type the type to create a binding builder for an async lazy {@code T}
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see AsyncLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazyAsync(final @NonNull TypeLiteral<T> type) {
+    return this.bindLazyAsync(Key.get(type));
+  }
+
+  /**
+   * Creates a binding builder for an asynchronously-loaded type.
+   *
+   * <p>The bound {@link AsyncLazy} begins loading its value on the {@link ForkJoinPool#commonPool() common pool}
+   * as soon as it is injected.</p>
+   *
+   * @param type the type to create a binding builder for an async lazy {@code T}
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see AsyncLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazyAsync(final @NonNull Class<T> type) {
+    return this.bindLazyAsync(Key.get(type));
+  }
+
+  /**
+   * Creates a binding builder for an asynchronously-loaded type.
+   *
+   * <p>The bound {@link AsyncLazy} begins loading its value on {@code executor} as soon as it is injected.</p>
+   *
+   * @param key the key to create a binding builder for an async lazy {@code T}
+   * @param executor the executor to load the value on
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see AsyncLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazyAsync(final @NonNull Key<T> key, final @NonNull Executor executor) {
+    return LazyBindingBuilder.async(this.binder(), key, executor);
+  }
+
+  /**
+   * Creates a binding builder for an asynchronously-loaded type.
+   *
+   * <p>The bound {@link AsyncLazy} begins loading its value on {@code executor} as soon as it is injected.</p>
+   *
+   * @param type the type to create a binding builder for an async lazy {@code T}
+   * @param executor the executor to load the value on
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see AsyncLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazyAsync(final @NonNull TypeLiteral<T> type, final @NonNull Executor executor) {
+    return this.bindLazyAsync(Key.get(type), executor);
+  }
+
+  /**
+   * Creates a binding builder for an asynchronously-loaded type.
+   *
+   * <p>The bound {@link AsyncLazy} begins loading its value on {@code executor} as soon as it is injected.</p>
+   *
+   * @param type the type to create a binding builder for an async lazy {@code T}
+   * @param executor the executor to load the value on
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see AsyncLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindLazyAsync(final @NonNull Class<T> type, final @NonNull Executor executor) {
+    return this.bindLazyAsync(Key.get(type), executor);
+  }
+
+  /**
+   * Creates a binding builder for a periodically re-provisioned type.
+   *
+   * <p>The bound {@link RefreshingLazy} refreshes its value on the {@link ForkJoinPool#commonPool() common pool}.</p>
+   *
+   * @param key the key to create a binding builder for a refreshing {@code T}
+   * @param ttl the time-to-live of a value
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see RefreshingLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindRefreshing(final @NonNull Key<T> key, final @NonNull Duration ttl) {
+    return this.bindRefreshing(key, ttl, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a binding builder for a periodically re-provisioned type.
+   *
+   * <p>The bound {@link RefreshingLazy} refreshes its value on the {@link ForkJoinPool#commonPool() common pool}.</p>
+   *
+   * @param type the type to create a binding builder for a refreshing {@code T}
+   * @param ttl the time-to-live of a value
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see RefreshingLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindRefreshing(final @NonNull TypeLiteral<T> type, final @NonNull Duration ttl) {
+    return this.bindRefreshing(Key.get(type), ttl, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a binding builder for a periodically re-provisioned type.
+   *
+   * <p>The bound {@link RefreshingLazy} refreshes its value on the {@link ForkJoinPool#commonPool() common pool}.</p>
+   *
+   * @param type the type to create a binding builder for a refreshing {@code T}
+   * @param ttl the time-to-live of a value
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see RefreshingLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindRefreshing(final @NonNull Class<T> type, final @NonNull Duration ttl) {
+    return this.bindRefreshing(Key.get(type), ttl, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a binding builder for a periodically re-provisioned type.
+   *
+   * @param key the key to create a binding builder for a refreshing {@code T}
+   * @param ttl the time-to-live of a value
+   * @param executor the executor to refresh values on
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see RefreshingLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindRefreshing(final @NonNull Key<T> key, final @NonNull Duration ttl, final @NonNull Executor executor) {
+    return LazyBindingBuilder.refreshing(this.binder(), key, ttl, executor);
+  }
+
+  /**
+   * Creates a binding builder for a periodically re-provisioned type.
+   *
+   * @param type the type to create a binding builder for a refreshing {@code T}
+   * @param ttl the time-to-live of a value
+   * @param executor the executor to refresh values on
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see RefreshingLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindRefreshing(final @NonNull TypeLiteral<T> type, final @NonNull Duration ttl, final @NonNull Executor executor) {
+    return this.bindRefreshing(Key.get(type), ttl, executor);
+  }
+
+  /**
+   * Creates a binding builder for a periodically re-provisioned type.
+   *
+   * @param type the type to create a binding builder for a refreshing {@code T}
+   * @param ttl the time-to-live of a value
+   * @param executor the executor to refresh values on
+   * @param <T> the type of object
+   * @return an annotated binding builder
+   * @see RefreshingLazy
+   */
+  default <T> @NonNull AnnotatedBindingBuilder<T> bindRefreshing(final @NonNull Class<T> type, final @NonNull Duration ttl, final @NonNull Executor executor) {
+    return this.bindRefreshing(Key.get(type), ttl, executor);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded {@code int}.
+   *
+   * <p>The returned builder binds {@code key}, and a {@link LazyInt} which loads its value from it.</p>
+   *
+   * @param key the key to create a binding builder for a lazy {@code int}
+   * @return an annotated binding builder
+   * @see LazyInt
+   */
+  default @NonNull AnnotatedBindingBuilder<Integer> bindLazyInt(final @NonNull Key<Integer> key) {
+    return LazyBindingBuilder.of(this.binder(), LazyInt.class, key, LazyInt::new);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded {@code int}.
+   *
+   * @return an annotated binding builder
+   * @see LazyInt
+   */
+  default @NonNull AnnotatedBindingBuilder<Integer> bindLazyInt() {
+    return this.bindLazyInt(Key.get(Integer.class));
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded {@code long}.
+   *
+   * <p>The returned builder binds {@code key}, and a {@link LazyLong} which loads its value from it.</p>
+   *
+   * @param key the key to create a binding builder for a lazy {@code long}
+   * @return an annotated binding builder
+   * @see LazyLong
+   */
+  default @NonNull AnnotatedBindingBuilder<Long> bindLazyLong(final @NonNull Key<Long> key) {
+    return LazyBindingBuilder.of(this.binder(), LazyLong.class, key, LazyLong::new);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded {@code long}.
+   *
+   * @return an annotated binding builder
+   * @see LazyLong
+   */
+  default @NonNull AnnotatedBindingBuilder<Long> bindLazyLong() {
+    return this.bindLazyLong(Key.get(Long.class));
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded {@code double}.
+   *
+   * <p>The returned builder binds {@code key}, and a {@link LazyDouble} which loads its value from it.</p>
+   *
+   * @param key the key to create a binding builder for a lazy {@code double}
+   * @return an annotated binding builder
+   * @see LazyDouble
+   */
+  default @NonNull AnnotatedBindingBuilder<Double> bindLazyDouble(final @NonNull Key<Double> key) {
+    return LazyBindingBuilder.of(this.binder(), LazyDouble.class, key, LazyDouble::new);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded {@code double}.
+   *
+   * @return an annotated binding builder
+   * @see LazyDouble
+   */
+  default @NonNull AnnotatedBindingBuilder<Double> bindLazyDouble() {
+    return this.bindLazyDouble(Key.get(Double.class));
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded {@code boolean}.
+   *
+   * <p>The returned builder binds {@code key}, and a {@link LazyBoolean} which loads its value from it.</p>
+   *
+   * @param key the key to create a binding builder for a lazy {@code boolean}
+   * @return an annotated binding builder
+   * @see LazyBoolean
+   */
+  default @NonNull AnnotatedBindingBuilder<Boolean> bindLazyBoolean(final @NonNull Key<Boolean> key) {
+    return LazyBindingBuilder.of(this.binder(), LazyBoolean.class, key, LazyBoolean::new);
+  }
+
+  /**
+   * Creates a binding builder for a lazily-loaded {@code boolean}.
+   *
+   * @return an annotated binding builder
+   * @see LazyBoolean
+   */
+  default @NonNull AnnotatedBindingBuilder<Boolean> bindLazyBoolean() {
+    return this.bindLazyBoolean(Key.get(Boolean.class));
+  }
+
+  /**
+   * Records the latency of every provision of bindings matched by {@code matcher}.
+   *
+   * @param matcher the binding matcher
+   * @return the provision metrics
+   * @see ProvisionMetrics
+   */
+  default @NonNull ProvisionMetrics instrument(final @NonNull Matcher<? super Binding<?>> matcher) {
+    return this.instrument(matcher, 1);
+  }
+
+  /**
+   * Records the latency of roughly one in every {@code sampleRate} provisions of bindings matched by {@code matcher}.
+   *
+   * @param matcher the binding matcher
+   * @param sampleRate the sample rate
+   * @return the provision metrics
+   * @see ProvisionMetrics
+   */
+  default @NonNull ProvisionMetrics instrument(final @NonNull Matcher<? super Binding<?>> matcher, final int sampleRate) {
+    final ProvisionMetrics metrics = new ProvisionMetrics(sampleRate);
+    this.bindListener(matcher, metrics);
+    return metrics;
+  }
+
   /**
    * Creates an optional builder.
    *
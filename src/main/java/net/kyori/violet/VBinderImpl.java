@@ -34,13 +34,30 @@ final class VBinderImpl implements VBinder {
     VBinderImpl.class
   };
   private final @NonNull Binder binder;
+  private final @NonNull SkippedSources<VBinder> skipped;
 
   VBinderImpl(final @NonNull Binder binder) {
-    this.binder = binder.skipSources(SKIPPED_SOURCES);
+    this(binder.skipSources(SKIPPED_SOURCES), SkippedSources.of(SKIPPED_SOURCES));
+  }
+
+  private VBinderImpl(final @NonNull Binder binder, final @NonNull SkippedSources<VBinder> skipped) {
+    this.binder = binder;
+    this.skipped = skipped;
   }
 
   @Override
   public @NonNull Binder binder() {
     return this.binder;
   }
+
+  @Override
+  public VBinder withSource(final Object source) {
+    // the binder already skips our sources - there is no need to skip them again
+    return new VBinderImpl(this.binder.withSource(source), this.skipped.copy());
+  }
+
+  @Override
+  public VBinder skipSources(final Class... classesToSkip) {
+    return this.skipped.skip(this, classesToSkip, (classes, skipped) -> new VBinderImpl(this.binder.skipSources(classes), skipped));
+  }
 }
@@ -39,13 +39,30 @@ final class VDuplexBinderImpl implements VDuplexBinder {
     VDuplexBinderImpl.class
   };
   private final @NonNull DuplexBinder binder;
+  private final @NonNull SkippedSources<VDuplexBinder> skipped;
 
   VDuplexBinderImpl(final @NonNull DuplexBinder binder) {
-    this.binder = binder.skipSources(SKIPPED_SOURCES);
+    this(binder.skipSources(SKIPPED_SOURCES), SkippedSources.of(SKIPPED_SOURCES));
+  }
+
+  private VDuplexBinderImpl(final @NonNull DuplexBinder binder, final @NonNull SkippedSources<VDuplexBinder> skipped) {
+    this.binder = binder;
+    this.skipped = skipped;
   }
 
   @Override
   public @NonNull DuplexBinder binder() {
     return this.binder;
   }
+
+  @Override
+  public VDuplexBinder withSource(final Object source) {
+    // the binder already skips our sources - there is no need to skip them again
+    return new VDuplexBinderImpl(this.binder.withSource(source), this.skipped.copy());
+  }
+
+  @Override
+  public VDuplexBinder skipSources(final Class... classesToSkip) {
+    return this.skipped.skip(this, classesToSkip, (classes, skipped) -> new VDuplexBinderImpl(this.binder.skipSources(classes), skipped));
+  }
 }
@@ -37,13 +37,30 @@ final class VPrivateBinderImpl implements VPrivateBinder {
     VPrivateBinderImpl.class
   };
   private final @NonNull PrivateBinder binder;
+  private final @NonNull SkippedSources<VPrivateBinder> skipped;
 
   VPrivateBinderImpl(final @NonNull PrivateBinder binder) {
-    this.binder = binder.skipSources(SKIPPED_SOURCES);
+    this(binder.skipSources(SKIPPED_SOURCES), SkippedSources.of(SKIPPED_SOURCES));
+  }
+
+  private VPrivateBinderImpl(final @NonNull PrivateBinder binder, final @NonNull SkippedSources<VPrivateBinder> skipped) {
+    this.binder = binder;
+    this.skipped = skipped;
   }
 
   @Override
   public @NonNull PrivateBinder binder() {
     return this.binder;
   }
+
+  @Override
+  public VPrivateBinder withSource(final Object source) {
+    // the binder already skips our sources - there is no need to skip them again
+    return new VPrivateBinderImpl(this.binder.withSource(source), this.skipped.copy());
+  }
+
+  @Override
+  public VPrivateBinder skipSources(final Class... classesToSkip) {
+    return this.skipped.skip(this, classesToSkip, (classes, skipped) -> new VPrivateBinderImpl(this.binder.skipSources(classes), skipped));
+  }
 }
@@ -0,0 +1,121 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Module;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link Module} which uses the concrete module class and the values of its
+ * {@code final} instance fields as the deduplication key.
+ *
+ * <p>This allows parameterized modules, such as a module per named data source, to be installed
+ * more than once with the same parameters while only being configured once.</p>
+ *
+ * <p>The values captured by anonymous and local module classes are part of the deduplication key, while a
+ * reference to an enclosing instance is not.</p>
+ *
+ * <p>The values of the fields are read and hashed once, on first use, and so should not change after
+ * construction.</p>
+ *
+ * @see SingletonModule
+ */
+public abstract class ValueModule extends AbstractModule {
+  private static final ClassValue<Field[]> FIELDS = new ClassValue<Field[]>() {
+    @Override
+    protected Field[] computeValue(final Class<?> type) {
+      final List<Field> fields = new ArrayList<>();
+      for(Class<?> current = type; current != ValueModule.class; current = current.getSuperclass()) {
+        for(final Field field : current.getDeclaredFields()) {
+          final int modifiers = field.getModifiers();
+          // the values captured by anonymous and local classes are synthetic fields, and part of the value - while the
+          // reference to an enclosing instance is not
+          if(Modifier.isFinal(modifiers) && !Modifier.isStatic(modifiers) && !isEnclosingInstance(field)) {
+            field.setAccessible(true);
+            fields.add(field);
+          }
+        }
+      }
+      return fields.toArray(new Field[0]);
+    }
+  };
+  // racy, but the state is immutable and so is safely published by its final fields
+  private @Nullable State state;
+
+  private static boolean isEnclosingInstance(final Field field) {
+    return field.isSynthetic() && field.getName().startsWith("this$");
+  }
+
+  private State state() {
+    /* @Nullable */ State state = this.state;
+    if(state == null) {
+      final Field[] fields = FIELDS.get(this.getClass());
+      final Object[] values = new Object[fields.length];
+      try {
+        for(int i = 0; i < fields.length; i++) {
+          values[i] = fields[i].get(this);
+        }
+      } catch(final IllegalAccessException e) {
+        throw new IllegalStateException("Could not read the fields of " + this.getClass().getName(), e);
+      }
+      state = new State(values, 31 * this.getClass().hashCode() + Arrays.deepHashCode(values));
+      this.state = state;
+    }
+    return state;
+  }
+
+  @Override
+  public final int hashCode() {
+    return this.state().hash;
+  }
+
+  @Override
+  public final boolean equals(final @Nullable Object that) {
+    if(this == that) {
+      return true;
+    }
+    if(that == null || this.getClass() != that.getClass()) {
+      return false;
+    }
+    final State state = this.state();
+    final State other = ((ValueModule) that).state();
+    return state.hash == other.hash && Arrays.deepEquals(state.values, other.values);
+  }
+
+  private static final class State {
+    final Object[] values;
+    final int hash;
+
+    State(final Object[] values, final int hash) {
+      this.values = values;
+      this.hash = hash;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.PrivateModule;
+import com.google.inject.assistedinject.Assisted;
+import net.kyori.violet.processor.BindingIndexProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BindingIndexTest {
+  private static final BindingIndex INDEX = BindingIndex.load(BindingIndexTest.class.getClassLoader()).filter(name -> name.startsWith(BindingIndexTest.class.getName() + '$'));
+  private static final Module SCOPE = binder -> binder.bindScope(LazySingleton.class, LazySingleton.SCOPE);
+
+  @Test
+  void testIndex() {
+    assertEquals(ImmutableSet.of(InjectThing.class.getName(), ModuleThing.class.getName(), PrivateThing.class.getName(), ChildThing.class.getName()), INDEX.injectables());
+    assertEquals(ImmutableSet.of(LazyThing.class.getName()), INDEX.lazySingletons());
+    assertEquals(ImmutableSet.of(IndexedModule.class.getName()), INDEX.modules());
+  }
+
+  @Test
+  void testFormat() {
+    assertEquals(BindingIndexProcessor.LOCATION, BindingIndex.LOCATION);
+    assertEquals(BindingIndexProcessor.INJECT, BindingIndex.INJECT);
+    assertEquals(BindingIndexProcessor.LAZY_SINGLETON, BindingIndex.LAZY_SINGLETON);
+    assertEquals(BindingIndexProcessor.MODULE, BindingIndex.MODULE);
+  }
+
+  @Test
+  void testPackages() {
+    final BindingIndex index = BindingIndex.load(BindingIndexTest.class.getClassLoader()).packages(BindingIndexTest.class.getPackage().getName());
+    assertTrue(index.injectables().contains(InjectThing.class.getName()));
+    assertTrue(BindingIndex.load(BindingIndexTest.class.getClassLoader()).packages("net.kyori.violet.none").injectables().isEmpty());
+  }
+
+  @Test
+  void testModule() {
+    final Injector injector = Guice.createInjector(INDEX.module(Iterables.concat(INDEX.indexedModules(), Collections.singleton(SCOPE))));
+    // looked up when the injector is created, rather than on first use
+    assertNotNull(injector.getExistingBinding(Key.get(InjectThing.class)));
+    assertNotNull(injector.getExistingBinding(Key.get(LazyThing.class)));
+    assertSame(injector.getInstance(LazyThing.class), injector.getInstance(InjectThing.class).lazy);
+    // bound by the indexed module
+    assertEquals("indexed", injector.getInstance(ModuleThing.class).name);
+  }
+
+  @Test
+  void testIndexedModulesOptIn() {
+    final Injector injector = Guice.createInjector(INDEX.module(Collections.singleton(SCOPE)));
+    assertNotEquals("indexed", injector.getInstance(ModuleThing.class).name);
+  }
+
+  @Test
+  void testIndexedModulesDeduplicated() {
+    // the indexed module binds an instance, so configuring it twice would fail
+    final Injector injector = Guice.createInjector(INDEX.module(Iterables.concat(INDEX.indexedModules(), INDEX.indexedModules(), Collections.singleton(SCOPE))), INDEX.indexedModules().get(0));
+    assertEquals("indexed", injector.getInstance(ModuleThing.class).name);
+  }
+
+  @Test
+  void testPrivateModule() {
+    final Injector injector = Guice.createInjector(INDEX.module(Collections.singleton(SCOPE)), new PrivateModule() {
+      @Override
+      protected void configure() {
+        this.bind(PrivateThing.class);
+        this.bind(Service.class).to(PrivateThing.class);
+        this.expose(Service.class);
+      }
+    });
+    assertTrue(injector.getInstance(Service.class) instanceof PrivateThing);
+    // skipped, as it is bound in the private module
+    assertNull(injector.getExistingBinding(Key.get(PrivateThing.class)));
+  }
+
+  @Test
+  void testChildInjector() {
+    final Injector injector = Guice.createInjector(INDEX.module(Collections.singleton(SCOPE)));
+    // skipped, as its dependency is only bound by the child injector
+    assertNull(injector.getExistingBinding(Key.get(ChildThing.class)));
+    final Injector child = injector.createChildInjector(binder -> binder.bind(Service.class).to(PrivateThing.class));
+    assertTrue(child.getInstance(ChildThing.class).service instanceof PrivateThing);
+  }
+
+  interface Service {
+  }
+
+  static class PrivateThing implements Service {
+    @Inject
+    PrivateThing() {
+    }
+  }
+
+  static class ChildThing {
+    final Service service;
+
+    @Inject
+    ChildThing(final Service service) {
+      this.service = service;
+    }
+  }
+
+  static class InjectThing {
+    final LazyThing lazy;
+
+    @Inject
+    InjectThing(final LazyThing lazy) {
+      this.lazy = lazy;
+    }
+  }
+
+  @LazySingleton
+  static class LazyThing {
+  }
+
+  static class ModuleThing {
+    final String name;
+
+    @Inject
+    ModuleThing(final String name) {
+      this.name = name;
+    }
+  }
+
+  static class AssistedThing {
+    @Inject
+    AssistedThing(@Assisted final String name) {
+    }
+  }
+
+  public static class IndexedModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      this.bind(ModuleThing.class).toInstance(new ModuleThing("indexed"));
+    }
+  }
+}
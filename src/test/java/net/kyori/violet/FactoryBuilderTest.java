@@ -0,0 +1,264 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.CreationException;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.ProvisionException;
+import com.google.inject.assistedinject.Assisted;
+import com.google.inject.assistedinject.AssistedInject;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FactoryBuilderTest {
+  @Test
+  void testSingleMethod() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindConstant().annotatedWith(Names.named("prefix")).to("thing-");
+        this.installGeneratedFactory(ThingFactory.class, builder -> builder.implement(Thing.class, NamedThing.class));
+      }
+    });
+    final ThingFactory factory = injector.getInstance(ThingFactory.class);
+    assertFalse(Proxy.isProxyClass(factory.getClass()));
+    final Thing thing = factory.create(100, "a");
+    assertEquals("thing-a:100", thing.name());
+    assertTrue(((NamedThing) thing).injected);
+  }
+
+  @Test
+  void testMultipleMethods() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindConstant().annotatedWith(Names.named("prefix")).to("thing-");
+        this.installGeneratedFactory(ThingsFactory.class, builder -> builder.implement(Thing.class, NamedThing.class));
+      }
+    });
+    final ThingsFactory factory = injector.getInstance(ThingsFactory.class);
+    assertTrue(Proxy.isProxyClass(factory.getClass()));
+    assertEquals("thing-b:1", factory.create("b", 1).name());
+    assertEquals("thing-c:2", factory.create(2, "c").name());
+    assertEquals("thing-d:0", factory.create("d").name());
+    assertEquals("thing-e:5", factory.five("e").name());
+    assertEquals(factory, factory);
+  }
+
+  @Test
+  void testDirect() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.installGeneratedFactory(PlainThingFactory.class);
+      }
+    });
+    final PlainThingFactory factory = injector.getInstance(PlainThingFactory.class);
+    // the factory calls the constructor directly, so it is defined alongside the implementation
+    assertTrue(factory.getClass().getName().startsWith(PlainThing.class.getName()));
+    assertEquals("a:1", factory.create("a", 1).name());
+  }
+
+  @Test
+  void testCheckedException() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.installGeneratedFactory(ThrowingThingFactory.class);
+      }
+    });
+    assertThrows(ProvisionException.class, () -> injector.getInstance(ThrowingThingFactory.class).create("a"));
+  }
+
+  @Test
+  void testAmbiguousParameters() {
+    assertThrows(CreationException.class, () -> Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.installGeneratedFactory(AmbiguousFactory.class, builder -> builder.implement(Thing.class, PlainThing.class));
+      }
+    }));
+  }
+
+  @Test
+  void testNoMatchingConstructor() {
+    assertThrows(CreationException.class, () -> Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.installGeneratedFactory(MismatchedFactory.class, builder -> builder.implement(Thing.class, NamedThing.class));
+      }
+    }));
+  }
+
+  @Test
+  void testInstalledTwice() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.installGeneratedFactory(PlainThingFactory.class);
+        this.installGeneratedFactory(PlainThingFactory.class);
+      }
+    });
+    assertEquals("a:1", injector.getInstance(PlainThingFactory.class).create("a", 1).name());
+    assertEquals(new FactoryBuilder().build(PlainThingFactory.class), new FactoryBuilder().build(PlainThingFactory.class));
+    assertNotEquals(new FactoryBuilder().build(ThingFactory.class), new FactoryBuilder().implement(Thing.class, NamedThing.class).build(ThingFactory.class));
+  }
+
+  @Test
+  void testInaccessibleDefaultMethod() {
+    final AbstractModule module = new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.installGeneratedFactory(ThingFunction.class);
+      }
+    };
+    boolean accessible;
+    try {
+      FactoryMethod.privateLookup(Function.class);
+      accessible = true;
+    } catch(final ReflectiveOperationException | RuntimeException e) {
+      accessible = false;
+    }
+    if(accessible) {
+      final ThingFunction factory = Guice.createInjector(module).getInstance(ThingFunction.class);
+      assertEquals("a", factory.andThen(Thing::name).apply("a"));
+      assertEquals("b", factory.create("b").name());
+    } else {
+      // the default methods of Function cannot be invoked - this is reported when the injector is created
+      assertTrue(assertThrows(CreationException.class, () -> Guice.createInjector(module)).getMessage().contains("Could not access default method"));
+    }
+  }
+
+  interface Thing {
+    String name();
+  }
+
+  interface ThingFactory {
+    Thing create(final int value, @Assisted("name") final String name);
+  }
+
+  interface ThingsFactory {
+    Thing create(@Assisted("name") final String name, final int value);
+
+    Thing create(final int value, @Assisted("name") final String name);
+
+    Thing create(@Assisted("name") final String name);
+
+    default Thing five(final String name) {
+      return this.create(5, name);
+    }
+  }
+
+  interface PlainThingFactory {
+    PlainThing create(final String name, final int value);
+  }
+
+  interface ThrowingThingFactory {
+    ThrowingThing create(final String name);
+  }
+
+  interface ThingFunction extends Function<String, SimpleThing> {
+    SimpleThing create(final String name);
+  }
+
+  interface AmbiguousFactory {
+    Thing create(final String name, final String other, final int value);
+  }
+
+  interface MismatchedFactory {
+    Thing create(final long value);
+  }
+
+  static class PlainThing implements Thing {
+    private final String name;
+
+    @Inject
+    PlainThing(@Assisted final String name, @Assisted final int value) {
+      this.name = name + ':' + value;
+    }
+
+    @Override
+    public String name() {
+      return this.name;
+    }
+  }
+
+  static class SimpleThing implements Thing {
+    private final String name;
+
+    @Inject
+    SimpleThing(@Assisted final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String name() {
+      return this.name;
+    }
+  }
+
+  static class ThrowingThing {
+    @Inject
+    ThrowingThing(@Assisted final String name) throws Exception {
+      throw new Exception(name);
+    }
+  }
+
+  static class NamedThing implements Thing {
+    private final String name;
+    boolean injected;
+
+    @AssistedInject
+    NamedThing(final @Named("prefix") String prefix, @Assisted("name") final String name, @Assisted final int value) {
+      this.name = prefix + name + ':' + value;
+    }
+
+    @AssistedInject
+    NamedThing(@Assisted("name") final String name, final @Named("prefix") String prefix) {
+      this(prefix, name, 0);
+    }
+
+    @Inject
+    void inject(final @Named("prefix") String prefix) {
+      this.injected = true;
+    }
+
+    @Override
+    public String name() {
+      return this.name;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.TypeLiteral;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FriendlyTypeLiteralTest {
+  @Test
+  void testWhere() {
+    assertEquals(new TypeLiteral<List<String>>() {}, listOf(String.class));
+    assertEquals(new TypeLiteral<Map<String, List<Integer>>>() {}, mapOf(String.class, listOf(Integer.class)));
+  }
+
+  @Test
+  void testWhereMemoized() {
+    assertSame(listOf(String.class), listOf(String.class));
+    assertSame(mapOf(String.class, listOf(Integer.class)), mapOf(String.class, listOf(Integer.class)));
+  }
+
+  private static <T> TypeLiteral<List<T>> listOf(final Class<T> type) {
+    return new FriendlyTypeLiteral<List<T>>() {}.where(new TypeArgument<T>(type) {});
+  }
+
+  private static <K, V> TypeLiteral<Map<K, V>> mapOf(final Class<K> key, final TypeLiteral<V> value) {
+    return new FriendlyTypeLiteral<Map<K, V>>() {}.where(new TypeArgument<K>(key) {}, new TypeArgument<V>(value) {});
+  }
+}
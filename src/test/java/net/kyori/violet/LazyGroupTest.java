@@ -0,0 +1,99 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyGroupTest {
+  @Test
+  void testResolveInParallel() {
+    // each provision waits for the other, so they can only complete if resolved in parallel
+    final CountDownLatch latch = new CountDownLatch(2);
+    final Lazy<String> a = Lazy.Mode.UNSYNCHRONIZED.create(() -> await(latch, "a"));
+    final Lazy<String> b = Lazy.Mode.UNSYNCHRONIZED.create(() -> await(latch, "b"));
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      LazyGroup.of(a, b).resolve(executor).join();
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals("a", a.get());
+    assertEquals("b", b.get());
+  }
+
+  @Test
+  void testFailure() {
+    final Lazy<String> a = Lazy.Mode.UNSYNCHRONIZED.create(() -> "a");
+    final Lazy<String> b = Lazy.Mode.UNSYNCHRONIZED.create(() -> {
+      throw new IllegalStateException("b");
+    });
+    assertEquals("b", assertThrows(IllegalStateException.class, () -> LazyGroup.of(a, b).resolve()).getMessage());
+  }
+
+  @Test
+  void testFields() {
+    final Things things = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindLazy(String.class).annotatedWith(Names.named("a")).toInstance("a");
+        this.bindLazy(String.class).annotatedWith(Names.named("b")).toInstance("b");
+      }
+    }).getInstance(Things.class);
+    final LazyGroup group = LazyGroup.fields(things);
+    assertEquals(2, group.lazies().size());
+    group.resolve();
+    assertEquals("a", things.a.get());
+    assertEquals("b", things.b.get());
+  }
+
+  private static String await(final CountDownLatch latch, final String value) {
+    latch.countDown();
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch(final InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+    return value;
+  }
+
+  private static class Things {
+    @Inject @Named("a") Lazy<String> a;
+    @Inject @Named("b") Lazy<String> b;
+    String other = "other";
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.name.Names;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.inject.Inject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazySingletonWarmerTest {
+  private static final List<Class<?>> CONSTRUCTED = Collections.synchronizedList(new ArrayList<>());
+  private static final List<Class<?>> BACKGROUND = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  void testWarm() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindScope(LazySingleton.class, LazySingleton.SCOPE);
+        this.bind(Thing.class).to(ThingA.class).in(LazySingleton.SCOPE);
+        this.bind(ThingB.class);
+        this.bind(ThingC.class);
+      }
+    });
+    final LazySingletonWarmer warmer = LazySingletonWarmer.of(injector);
+    assertEquals(3, warmer.keys().size());
+    assertTrue(CONSTRUCTED.isEmpty());
+
+    final LazySingletonWarmer.Report report = warmer.warm();
+    assertTrue(report.failures().isEmpty());
+    assertEquals(warmer.keys(), report.timings().keySet());
+    assertEquals(3, CONSTRUCTED.size());
+    // ThingC depends on ThingB (through an unscoped binding), which depends on Thing
+    assertEquals(ThingA.class, CONSTRUCTED.get(0));
+    assertEquals(ThingB.class, CONSTRUCTED.get(1));
+    assertEquals(ThingC.class, CONSTRUCTED.get(2));
+    assertEquals(ThingA.class, injector.getInstance(Key.get(Thing.class)).getClass());
+    assertEquals(3, CONSTRUCTED.size());
+  }
+
+  @Test
+  void testWarmBlocking() {
+    // each instantiation waits for all others, so they can only complete if the pool compensates for blocked threads
+    final ForkJoinPool pool = new ForkJoinPool(1);
+    final int count = 3;
+    final CountDownLatch latch = new CountDownLatch(count);
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        for(int i = 0; i < count; i++) {
+          final String name = String.valueOf(i);
+          this.bind(Key.get(String.class, Names.named(name))).toProvider((Provider<String>) () -> {
+            latch.countDown();
+            // sleep rather than await, which may itself let the pool compensate
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while(latch.getCount() > 0) {
+              assertTrue(System.nanoTime() < deadline);
+              try {
+                Thread.sleep(1);
+              } catch(final InterruptedException e) {
+                throw new IllegalStateException(e);
+              }
+            }
+            return name;
+          }).in(LazySingleton.SCOPE);
+        }
+      }
+    });
+    final LazySingletonWarmer.Report report;
+    try {
+      report = LazySingletonWarmer.of(injector).warm(pool).join();
+    } finally {
+      pool.shutdown();
+    }
+    assertTrue(report.failures().isEmpty());
+    assertEquals(count, report.timings().size());
+  }
+
+  @Test
+  void testWarmInBackground() throws Exception {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindScope(LazySingleton.class, LazySingleton.SCOPE);
+        this.bind(BackgroundThingA.class);
+        this.bind(BackgroundThingB.class);
+      }
+    });
+    final AtomicBoolean busy = new AtomicBoolean(true);
+    final CountDownLatch polled = new CountDownLatch(3);
+    final LazySingletonWarmer.Background background = LazySingletonWarmer.of(injector).warmInBackground(() -> {
+      polled.countDown();
+      return busy.get();
+    }, Duration.ofMillis(1), Thread::new);
+    assertTrue(polled.await(5, TimeUnit.SECONDS));
+    // paused while busy
+    assertTrue(BACKGROUND.isEmpty());
+    assertFalse(background.completion().isDone());
+
+    busy.set(false);
+    final LazySingletonWarmer.Report report = background.completion().get(5, TimeUnit.SECONDS);
+    assertTrue(report.failures().isEmpty());
+    assertEquals(2, report.timings().size());
+    // BackgroundThingB depends on BackgroundThingA
+    assertEquals(Arrays.asList(BackgroundThingA.class, BackgroundThingB.class), BACKGROUND);
+  }
+
+  @Test
+  void testCancelBackground() throws Exception {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindScope(LazySingleton.class, LazySingleton.SCOPE);
+        this.bind(ThingB.class);
+        this.bind(Thing.class).to(ThingA.class);
+      }
+    });
+    final LazySingletonWarmer.Background background = LazySingletonWarmer.of(injector).warmInBackground(() -> true);
+    background.cancel();
+    assertTrue(background.completion().get(5, TimeUnit.SECONDS).timings().isEmpty());
+  }
+
+  private interface Thing {}
+
+  private static class ThingA implements Thing {
+    ThingA() {
+      CONSTRUCTED.add(ThingA.class);
+    }
+  }
+
+  @LazySingleton
+  private static class ThingB {
+    @Inject
+    ThingB(final Thing thing) {
+      CONSTRUCTED.add(ThingB.class);
+    }
+  }
+
+  @LazySingleton
+  private static class BackgroundThingA {
+    BackgroundThingA() {
+      BACKGROUND.add(BackgroundThingA.class);
+    }
+  }
+
+  @LazySingleton
+  private static class BackgroundThingB {
+    @Inject
+    BackgroundThingB(final BackgroundThingA a) {
+      BACKGROUND.add(BackgroundThingB.class);
+    }
+  }
+
+  private static class Unscoped {
+    @Inject ThingB b;
+  }
+
+  @LazySingleton
+  private static class ThingC {
+    @Inject
+    ThingC(final Unscoped unscoped) {
+      CONSTRUCTED.add(ThingC.class);
+    }
+  }
+}
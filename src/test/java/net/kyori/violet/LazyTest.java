@@ -25,19 +25,29 @@ package net.kyori.violet;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Key;
 import com.google.inject.Provider;
+import com.google.inject.TypeLiteral;
 import com.google.inject.name.Named;
 import com.google.inject.name.Names;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LazyTest {
   @Test
@@ -58,6 +68,199 @@ class LazyTest {
     assertSame(things.dl.get(), things.dl.get());
   }
 
+  @Test
+  void testConcurrentLazy() throws InterruptedException {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindLazy(Thing.class, Lazy.Mode.CONCURRENT).to(ThingA.class);
+        this.bindLazy(Thing.class, Lazy.Mode.CONCURRENT).annotatedWith(Names.named("b")).to(ThingB.class);
+      }
+    });
+    final ConcurrentThings things = injector.getInstance(ConcurrentThings.class);
+    assertEquals(ConcurrentLazy.class, things.al.getClass());
+    assertEquals(ConcurrentLazy.class, things.bl.getClass());
+
+    final AtomicInteger count = new AtomicInteger();
+    final Lazy<Thing> lazy = Lazy.Mode.CONCURRENT.create(() -> {
+      count.incrementAndGet();
+      return new ThingA();
+    });
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Thread[] threads = new Thread[8];
+    final Thing[] results = new Thing[threads.length];
+    for(int i = 0; i < threads.length; i++) {
+      final int index = i;
+      threads[i] = new Thread(() -> {
+        try {
+          latch.await();
+        } catch(final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        results[index] = lazy.get();
+      });
+      threads[i].start();
+    }
+    latch.countDown();
+    for(final Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(1, count.get());
+    for(final Thing result : results) {
+      assertSame(results[0], result);
+    }
+  }
+
+  @Test
+  void testAsyncLazy() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindLazyAsync(SingletonThing.class).in(LazySingleton.SCOPE);
+      }
+    });
+    final AsyncThings things = injector.getInstance(AsyncThings.class);
+    final SingletonThing a = things.al.prefetch().join();
+    assertEquals(1, SingletonThing.CONSTRUCTION_COUNT.get());
+    assertSame(a, things.al.get());
+    // callers can not complete the shared value
+    things.al.prefetch().obtrudeValue(null);
+    assertSame(a, things.al.get());
+    assertSame(a, injector.getInstance(SingletonThing.class));
+    assertEquals(1, SingletonThing.CONSTRUCTION_COUNT.get());
+  }
+
+  @Test
+  void testLazyPrimitives() {
+    final AtomicInteger count = new AtomicInteger();
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindLazyInt().annotatedWith(Names.named("limit")).toProvider(count::incrementAndGet);
+        this.bindLazyLong().annotatedWith(Names.named("limit")).toInstance(2L);
+        this.bindLazyDouble().annotatedWith(Names.named("limit")).toInstance(3d);
+        this.bindLazyBoolean().annotatedWith(Names.named("enabled")).toInstance(true);
+      }
+    });
+    final PrimitiveThings things = injector.getInstance(PrimitiveThings.class);
+    assertEquals(0, count.get());
+    assertEquals(1, things.i.getAsInt());
+    assertEquals(1, things.i.getAsInt());
+    assertEquals(1, count.get());
+    assertEquals(2L, things.l.getAsLong());
+    assertEquals(3d, things.d.getAsDouble());
+    assertTrue(things.b.getAsBoolean());
+  }
+
+  @Test
+  void testRefreshingLazy() {
+    final AtomicInteger count = new AtomicInteger();
+    final Queue<Runnable> refreshes = new ArrayDeque<>();
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindRefreshing(Key.get(Integer.class), Duration.ZERO, refreshes::add).toProvider(() -> {
+          if(count.incrementAndGet() == 3) {
+            throw new IllegalStateException("down");
+          }
+          return count.get();
+        });
+      }
+    });
+    final RefreshingLazy<Integer> lazy = injector.getInstance(Key.get(new TypeLiteral<RefreshingLazy<Integer>>() {}));
+    // shared by all injection points
+    assertSame(lazy, injector.getInstance(Key.get(new TypeLiteral<RefreshingLazy<Integer>>() {})));
+    assertEquals(1, (int) lazy.get());
+    // stale values are returned, and only one refresh is scheduled
+    assertEquals(1, (int) lazy.get());
+    assertEquals(1, (int) lazy.get());
+    assertEquals(1, refreshes.size());
+    refreshes.remove().run();
+    assertEquals(2, (int) lazy.get());
+    assertEquals(2, count.get());
+    assertEquals(0, lazy.refreshFailures());
+    // a failed refresh keeps the stale value, and is reported
+    refreshes.remove().run();
+    assertEquals(2, (int) lazy.get());
+    assertEquals(1, lazy.refreshFailures());
+    assertNotNull(lazy.lastRefreshFailure());
+    refreshes.remove().run();
+    assertEquals(4, (int) lazy.get());
+    assertNull(lazy.lastRefreshFailure());
+  }
+
+  @Test
+  void testFailureAwareLazy() {
+    final AtomicInteger attempts = new AtomicInteger();
+    final FailurePolicy policy = FailurePolicy.backoff(Duration.ofHours(1), Duration.ofHours(8));
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindLazy(Key.get(String.class), policy).toProvider(() -> {
+          attempts.incrementAndGet();
+          throw new IllegalStateException("down");
+        });
+      }
+    });
+    final FailureAwareLazy<String> lazy = (FailureAwareLazy<String>) injector.getInstance(Key.get(new TypeLiteral<Lazy<String>>() {}));
+    final RuntimeException first = assertThrows(RuntimeException.class, lazy::get);
+    // the failure is cached until a retry is due
+    assertSame(first, assertThrows(RuntimeException.class, lazy::get));
+    assertEquals(1, attempts.get());
+    assertEquals(1, lazy.consecutiveFailures());
+    assertSame(first, lazy.lastFailure());
+    assertEquals(1, policy.failures());
+    assertEquals(1, policy.rejections());
+
+    assertEquals(Duration.ofHours(1).toNanos(), policy.delay(1));
+    assertEquals(Duration.ofHours(4).toNanos(), policy.delay(3));
+    assertEquals(Duration.ofHours(8).toNanos(), policy.delay(100));
+  }
+
+  @Test
+  void testFailureAwareLazyShared() {
+    final AtomicInteger attempts = new AtomicInteger();
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindLazy(Key.get(String.class), FailurePolicy.backoff(Duration.ofHours(1), Duration.ofHours(8))).toProvider(() -> {
+          attempts.incrementAndGet();
+          throw new IllegalStateException("down");
+        });
+      }
+    });
+    final FailureAwareThing a = injector.getInstance(FailureAwareThing.class);
+    final FailureAwareThing b = injector.getInstance(FailureAwareThing.class);
+    assertNotSame(a, b);
+    assertSame(a.lazy, b.lazy);
+    final RuntimeException first = assertThrows(RuntimeException.class, a.lazy::get);
+    // the failure is cached for the other injectee too
+    assertSame(first, assertThrows(RuntimeException.class, b.lazy::get));
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  void testFailureAwareLazyRetry() {
+    final AtomicInteger attempts = new AtomicInteger();
+    final FailureAwareLazy<String> lazy = new FailureAwareLazy<>(() -> {
+      if(attempts.incrementAndGet() < 3) {
+        throw new IllegalStateException("down");
+      }
+      return "up";
+    }, FailurePolicy.backoff(Duration.ZERO, Duration.ZERO));
+    assertThrows(IllegalStateException.class, lazy::get);
+    assertThrows(IllegalStateException.class, lazy::get);
+    assertEquals(2, lazy.consecutiveFailures());
+    assertEquals("up", lazy.get());
+    assertEquals("up", lazy.get());
+    assertEquals(3, attempts.get());
+    assertEquals(0, lazy.consecutiveFailures());
+  }
+
+  private static class FailureAwareThing {
+    @Inject Lazy<String> lazy;
+  }
+
   @BeforeEach
   void resetCount() {
     SingletonThing.CONSTRUCTION_COUNT.set(0);
@@ -150,6 +353,22 @@ class LazyTest {
     @Inject Lazy<ThingD> dl;
   }
 
+  private static class ConcurrentThings {
+    @Inject Lazy<Thing> al;
+    @Inject @Named("b") Lazy<Thing> bl;
+  }
+
+  private static class AsyncThings {
+    @Inject AsyncLazy<SingletonThing> al;
+  }
+
+  private static class PrimitiveThings {
+    @Inject @Named("limit") LazyInt i;
+    @Inject @Named("limit") LazyLong l;
+    @Inject @Named("limit") LazyDouble d;
+    @Inject @Named("enabled") LazyBoolean b;
+  }
+
   // not annotated
   private static class SingletonThing {
     static final AtomicInteger CONSTRUCTION_COUNT = new AtomicInteger();
@@ -0,0 +1,167 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.CreationException;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.TypeLiteral;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MapBinderTest {
+  @Test
+  void testEnumKeys() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        final MapBinder<RetentionPolicy, String> map = new MapBinder<>(this.binder(), RetentionPolicy.class, String.class);
+        map.addBinding(RetentionPolicy.RUNTIME).toInstance("runtime");
+        map.addBinding(RetentionPolicy.SOURCE).toInstance("source");
+      }
+    });
+    final Map<RetentionPolicy, String> map = injector.getInstance(Key.get(new TypeLiteral<Map<RetentionPolicy, String>>() {}));
+    assertEquals(ImmutableMap.of(RetentionPolicy.SOURCE, "source", RetentionPolicy.RUNTIME, "runtime"), map);
+    assertNull(map.get(RetentionPolicy.CLASS));
+    // all values are singletons
+    assertSame(map, injector.getInstance(Key.get(new TypeLiteral<Map<RetentionPolicy, String>>() {})));
+    final Map<RetentionPolicy, Provider<String>> providers = injector.getInstance(Key.get(new TypeLiteral<Map<RetentionPolicy, Provider<String>>>() {}));
+    assertEquals("runtime", providers.get(RetentionPolicy.RUNTIME).get());
+  }
+
+  @Test
+  void testClassKeys() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        final MapBinder<Class<?>, String> map = new MapBinder<>(this.binder(), new TypeLiteral<Class<?>>() {}, TypeLiteral.get(String.class));
+        map.addBinding(String.class).toInstance("string");
+        map.addBinding(Integer.class).toInstance("integer");
+      }
+    });
+    final Map<Class<?>, String> map = injector.getInstance(Key.get(new TypeLiteral<Map<Class<?>, String>>() {}));
+    assertTrue(map instanceof ClassValueMap);
+    assertEquals("string", map.get(String.class));
+    assertEquals("integer", map.get(Integer.class));
+    assertNull(map.get(Long.class));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  void testStringKeys() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        final MapBinder<String, Integer> map = new MapBinder<>(this.binder(), String.class, Integer.class);
+        for(int i = 0; i < 20; i++) {
+          map.addBinding("key" + i).toInstance(i);
+        }
+      }
+    });
+    final Map<String, Integer> map = injector.getInstance(Key.get(new TypeLiteral<Map<String, Integer>>() {}));
+    assertTrue(map instanceof PerfectHashMap);
+    for(int i = 0; i < 20; i++) {
+      assertEquals(i, (int) map.get("key" + i));
+    }
+    assertNull(map.get("key20"));
+    assertNull(map.get(20));
+    assertEquals(IntStream.range(0, 20).boxed().collect(Collectors.toMap(i -> "key" + i, i -> i)), map);
+  }
+
+  @Test
+  void testDuplicateKey() {
+    assertThrows(CreationException.class, () -> Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        new MapBinder<>(this.binder(), String.class, String.class).addBinding("a").toInstance("a");
+        new MapBinder<>(this.binder(), String.class, String.class).addBinding("a").toInstance("b");
+      }
+    }));
+  }
+
+  @Test
+  void testUnscopedValues() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        new MapBinder<>(this.binder(), String.class, Object.class).addBinding("a").to(Object.class);
+      }
+    });
+    final Map<String, Object> map = injector.getInstance(Key.get(new TypeLiteral<Map<String, Object>>() {}));
+    assertNotSame(map, injector.getInstance(Key.get(new TypeLiteral<Map<String, Object>>() {})));
+    assertNotSame(map.get("a"), injector.getInstance(Key.get(new TypeLiteral<Map<String, Object>>() {})).get("a"));
+  }
+
+  @Test
+  void testUnscopedLayout() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        final MapBinder<String, Object> strings = new MapBinder<>(this.binder(), String.class, Object.class);
+        final MapBinder<Class<?>, Object> classes = new MapBinder<>(this.binder(), new TypeLiteral<Class<?>>() {}, TypeLiteral.get(Object.class));
+        for(int i = 0; i < 8; i++) {
+          strings.addBinding("key" + i).to(Object.class);
+        }
+        classes.addBinding(String.class).to(Object.class);
+        classes.addBinding(Integer.class).to(Object.class);
+      }
+    });
+    final Key<Map<String, Object>> stringKey = Key.get(new TypeLiteral<Map<String, Object>>() {});
+    final Map<String, Object> a = injector.getInstance(stringKey);
+    final Map<String, Object> b = injector.getInstance(stringKey);
+    assertTrue(a instanceof PerfectHashMap);
+    assertTrue(b instanceof PerfectHashMap);
+    assertEquals(8, b.size());
+    for(int i = 0; i < 8; i++) {
+      assertNotSame(a.get("key" + i), b.get("key" + i));
+      assertSame(b.get("key" + i), new HashMap<>(b).get("key" + i));
+    }
+    assertNull(b.get("key8"));
+
+    final Key<Map<Class<?>, Object>> classKey = Key.get(new TypeLiteral<Map<Class<?>, Object>>() {});
+    final Map<Class<?>, Object> c = injector.getInstance(classKey);
+    final Map<Class<?>, Object> d = injector.getInstance(classKey);
+    assertTrue(d instanceof ClassValueMap);
+    assertNotSame(c.get(String.class), d.get(String.class));
+    assertEquals(Arrays.asList(String.class, Integer.class), new ArrayList<>(d.keySet()));
+    assertNull(d.get(Long.class));
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.PrivateBinder;
+import com.google.inject.Provides;
+import com.google.inject.name.Names;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModuleProfilerTest {
+  @Test
+  void testProfile() {
+    final ModuleProfiler profiler = new ModuleProfiler();
+    final Injector injector = Guice.createInjector(profiler.module(new RootModule()));
+    assertEquals("duplex", injector.getInstance(String.class));
+
+    final ModuleProfiler.Report report = profiler.report();
+    final Map<String, ModuleProfiler.Entry> entries = new HashMap<>();
+    for(final ModuleProfiler.Entry entry : report.entries()) {
+      entries.put(entry.name(), entry);
+    }
+    assertEquals(3, entries.size());
+    assertEquals(0, entries.get(RootModule.class.getName()).depth());
+    assertEquals(1, entries.get(RootModule.class.getName()).bindCalls());
+    assertEquals(1, entries.get(ChildModule.class.getName()).depth());
+    assertEquals(2, entries.get(ChildModule.class.getName()).bindCalls());
+    assertEquals(1, entries.get(ChildDuplexModule.class.getName()).depth());
+    assertEquals(1, entries.get(ChildDuplexModule.class.getName()).bindCalls());
+
+    final ModuleProfiler.Entry root = entries.get(RootModule.class.getName());
+    assertTrue(root.totalNanos() >= root.selfNanos());
+    assertTrue(report.toJson().startsWith("[{\"module\":"));
+    assertTrue(report.toString().contains(ChildModule.class.getName()));
+  }
+
+  @Test
+  void testBindCalls() {
+    final ModuleProfiler profiler = new ModuleProfiler();
+    Guice.createInjector(profiler.module(
+      new LazyModule(),
+      new SetModule(),
+      new MapModule(),
+      new PrivateBinderModule(),
+      new ProvidesModule(),
+      new GuiceModule()
+    ));
+
+    final Map<String, ModuleProfiler.Entry> entries = new HashMap<>();
+    for(final ModuleProfiler.Entry entry : profiler.report().entries()) {
+      entries.put(entry.name(), entry);
+    }
+    // helpers bind through the profiling binder
+    assertTrue(entries.get(LazyModule.class.getName()).bindCalls() > 0);
+    assertTrue(entries.get(SetModule.class.getName()).bindCalls() > 0);
+    assertTrue(entries.get(MapModule.class.getName()).bindCalls() > 0);
+    // bindings which do not go through the profiling binder
+    assertEquals(0, entries.get(PrivateBinderModule.class.getName()).bindCalls());
+    assertEquals(0, entries.get(ProvidesModule.class.getName()).bindCalls());
+    assertEquals(0, entries.get(GuiceModule.class.getName()).bindCalls());
+  }
+
+  private static final class RootModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      this.bind(Integer.class).toInstance(1);
+      this.install(new ChildModule());
+      DuplexBinder.create(this.binder()).install(new ChildDuplexModule());
+    }
+  }
+
+  private static final class ChildModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      this.bind(Long.class).toInstance(1L);
+      this.bindConstant().annotatedWith(Names.named("child")).to("child");
+    }
+  }
+
+  private static final class LazyModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      this.bindLazy(String.class).toInstance("lazy");
+    }
+  }
+
+  private static final class SetModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      new SetBinder<>(this.binder(), String.class).addBinding().toInstance("set");
+    }
+  }
+
+  private static final class MapModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      new MapBinder<>(this.binder(), String.class, String.class).addBinding("key").toInstance("map");
+    }
+  }
+
+  private static final class PrivateBinderModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      final PrivateBinder binder = this.binder().newPrivateBinder();
+      binder.bind(Long.class).toInstance(1L);
+      binder.expose(Long.class);
+    }
+  }
+
+  private static final class ProvidesModule extends AbstractModule {
+    @Override
+    protected void configure() {
+    }
+
+    @Provides
+    Integer provideInteger() {
+      return 1;
+    }
+  }
+
+  private static final class GuiceModule extends com.google.inject.AbstractModule {
+    @Override
+    protected void configure() {
+      this.bind(Double.class).toInstance(1d);
+    }
+  }
+
+  private static final class ChildDuplexModule extends DuplexModule {
+    @Override
+    protected void configure() {
+      this.bindAndExpose(String.class).toInstance("duplex");
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ParallelModulesTest {
+  @Test
+  void testStandard() {
+    final List<com.google.inject.Module> modules = IntStream.range(0, 16)
+      .mapToObj(i -> new AbstractModule() {
+        @Override
+        protected void configure() {
+          this.bindConstant().annotatedWith(Names.named("m" + i)).to(i);
+        }
+      })
+      .collect(Collectors.toList());
+    final Injector injector = Guice.createInjector(ParallelModules.of(ForkJoinPool.commonPool(), modules));
+    for(int i = 0; i < 16; i++) {
+      assertEquals(i, (int) injector.getInstance(Key.get(Integer.class, Names.named("m" + i))));
+    }
+  }
+
+  @Test
+  void testDuplex() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        DuplexBinder.create(this.binder()).install(ParallelModules.of(ForkJoinPool.commonPool(), Arrays.asList(
+          new DuplexModule() {
+            @Override
+            protected void configure() {
+              this.bind(String.class).annotatedWith(Names.named("d0")).toInstance("d0");
+              this.expose(String.class).annotatedWith(Names.named("d0"));
+              this.bind(String.class).annotatedWith(Names.named("hidden")).toInstance("hidden");
+            }
+          },
+          new DuplexModule() {
+            @Override
+            protected void configure() {
+              this.publicBinder().bind(String.class).annotatedWith(Names.named("d1")).toInstance("d1");
+            }
+          }
+        )));
+      }
+    });
+    assertEquals("d0", injector.getInstance(Key.get(String.class, Names.named("d0"))));
+    assertEquals("d1", injector.getInstance(Key.get(String.class, Names.named("d1"))));
+    assertNull(injector.getExistingBinding(Key.get(String.class, Names.named("hidden"))));
+  }
+
+  @Test
+  void testDeduplicated() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        DuplexBinder.create(this.binder()).install(ParallelModules.of(ForkJoinPool.commonPool(), Arrays.asList(new ExposingModule(), new ExposingModule())));
+      }
+    });
+    assertEquals("exposed", injector.getInstance(Key.get(String.class, Names.named("exposed"))));
+  }
+
+  private static final class ExposingModule extends DuplexModule {
+    @Override
+    protected void configure() {
+      this.bind(String.class).annotatedWith(Names.named("exposed")).toInstance("exposed");
+      this.expose(String.class).annotatedWith(Names.named("exposed"));
+    }
+
+    @Override
+    public int hashCode() {
+      return ExposingModule.class.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object that) {
+      return that instanceof ExposingModule;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.ProvisionException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReferenceScopeTest {
+  @Test
+  void testSoftSingleton() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindScope(SoftSingleton.class, SoftSingleton.SCOPE);
+      }
+    });
+    assertSame(injector.getInstance(SoftThing.class), injector.getInstance(SoftThing.class));
+  }
+
+  @Test
+  void testReprovisionWhenCleared() {
+    final List<Reference<Object>> references = new ArrayList<>();
+    final ReferenceScope scope = new ReferenceScope("test", instance -> {
+      final Reference<Object> reference = new WeakReference<>(instance);
+      references.add(reference);
+      return reference;
+    });
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bind(Thing.class).in(scope);
+      }
+    });
+    final Thing thing = injector.getInstance(Thing.class);
+    assertSame(thing, injector.getInstance(Thing.class));
+    assertEquals(1, scope.provisions());
+    assertEquals(0, scope.evictions());
+
+    // as if reclaimed by the garbage collector
+    references.get(0).clear();
+    assertNotSame(thing, injector.getInstance(Thing.class));
+    assertEquals(2, scope.provisions());
+    assertEquals(1, scope.evictions());
+  }
+
+  @Test
+  void testNoDeadlock() throws InterruptedException {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindScope(SoftSingleton.class, SoftSingleton.SCOPE);
+      }
+    });
+    final AtomicInteger completed = new AtomicInteger();
+    final AtomicInteger failed = new AtomicInteger();
+    final Thread a = new Thread(() -> provision(injector, CycleA.class, completed, failed));
+    final Thread b = new Thread(() -> provision(injector, CycleB.class, completed, failed));
+    a.start();
+    b.start();
+    a.join(TimeUnit.SECONDS.toMillis(10));
+    b.join(TimeUnit.SECONDS.toMillis(10));
+    assertFalse(a.isAlive() || b.isAlive());
+    assertEquals(2, completed.get() + failed.get());
+    // the cycle is reported rather than deadlocking
+    assertTrue(failed.get() >= 1);
+  }
+
+  private static void provision(final Injector injector, final Class<?> type, final AtomicInteger completed, final AtomicInteger failed) {
+    try {
+      injector.getInstance(type);
+      completed.incrementAndGet();
+    } catch(final ProvisionException e) {
+      failed.incrementAndGet();
+    }
+  }
+
+  private static final CountDownLatch CYCLE_A = new CountDownLatch(1);
+  private static final CountDownLatch CYCLE_B = new CountDownLatch(1);
+
+  @SoftSingleton
+  private static class CycleA {
+    @Inject
+    CycleA(final Provider<CycleB> b) throws InterruptedException {
+      CYCLE_A.countDown();
+      CYCLE_B.await(5, TimeUnit.SECONDS);
+      b.get();
+    }
+  }
+
+  @SoftSingleton
+  private static class CycleB {
+    @Inject
+    CycleB(final Provider<CycleA> a) throws InterruptedException {
+      CYCLE_B.countDown();
+      CYCLE_A.await(5, TimeUnit.SECONDS);
+      a.get();
+    }
+  }
+
+  private static class Thing {}
+
+  @SoftSingleton
+  private static class SoftThing {}
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.TypeLiteral;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ScopeAnalyzerTest {
+  @Test
+  void testAnalyze() {
+    final ScopeAnalyzer.Report report = ScopeAnalyzer.analyze(Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bind(SingletonThing.class);
+        this.bind(UnscopedThing.class);
+        this.bind(EagerThing.class).asEagerSingleton();
+        this.bind(UsedEagerThing.class).asEagerSingleton();
+        this.bind(A.class).to(B.class);
+        this.bind(B.class).to(C.class);
+        this.bind(C.class).to(D.class);
+        this.bindLazy(Cheap.class).toInstance(new Cheap());
+      }
+    }));
+    assertEquals(ImmutableSet.of(Key.get(SingletonThing.class)), report.unscopedInSingletons().get(Key.get(Dependency.class)));
+    // also injected into an unscoped binding
+    assertFalse(report.unscopedInSingletons().containsKey(Key.get(SharedDependency.class)));
+    assertEquals(ImmutableSet.of(Key.get(EagerThing.class)), report.unrequestedEagerSingletons());
+    assertEquals(ImmutableList.of(ImmutableList.of(Key.get(A.class), Key.get(B.class), Key.get(C.class), Key.get(D.class))), report.linkedChains());
+    assertEquals(ImmutableSet.of(Key.get(new TypeLiteral<Lazy<Cheap>>() {})), report.redundantLazies().keySet());
+  }
+
+  @Test
+  void testIndirectDependencies() {
+    final ScopeAnalyzer.Report report = ScopeAnalyzer.analyze(Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bind(ProviderThing.class);
+        this.bind(LazyThing.class);
+        this.bind(ProvidedEagerThing.class).asEagerSingleton();
+        this.bind(LazyEagerThing.class).asEagerSingleton();
+        this.bind(LazySingletonThing.class).in(LazySingleton.SCOPE);
+      }
+    }));
+    // injected through a provider and a lazy, so requested
+    assertEquals(ImmutableSet.of(), report.unrequestedEagerSingletons());
+    // a lazy singleton is a singleton
+    assertEquals(ImmutableSet.of(Key.get(LazySingletonThing.class)), report.unscopedInSingletons().get(Key.get(Dependency.class)));
+    // injected through a provider, so each get() creates an instance
+    assertFalse(report.unscopedInSingletons().containsKey(Key.get(SharedDependency.class)));
+  }
+
+  @Test
+  void testToolStage() {
+    final Injector injector = Guice.createInjector(Stage.TOOL, new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bind(SingletonThing.class);
+        this.bind(EagerThing.class).in(Singleton.class);
+        this.bind(UsedEagerThing.class).in(Scopes.SINGLETON);
+      }
+    });
+    // analyzed as if in production, where singletons are eager
+    assertEquals(ImmutableSet.of(Key.get(SingletonThing.class), Key.get(EagerThing.class)), ScopeAnalyzer.analyze(injector).unrequestedEagerSingletons());
+    assertEquals(ImmutableSet.of(Key.get(SingletonThing.class)), ScopeAnalyzer.analyze(injector).unscopedInSingletons().get(Key.get(Dependency.class)));
+    assertEquals(ImmutableSet.of(), ScopeAnalyzer.analyze(injector, Stage.DEVELOPMENT).unrequestedEagerSingletons());
+  }
+
+  @Singleton
+  static class ProviderThing {
+    @Inject
+    ProviderThing(final Provider<ProvidedEagerThing> eager, final javax.inject.Provider<SharedDependency> shared) {
+    }
+  }
+
+  @Singleton
+  static class LazyThing {
+    @Inject
+    LazyThing(final Lazy<LazyEagerThing> eager) {
+    }
+  }
+
+  static class LazySingletonThing {
+    @Inject
+    LazySingletonThing(final Dependency dependency) {
+    }
+  }
+
+  static class ProvidedEagerThing {
+  }
+
+  static class LazyEagerThing {
+  }
+
+  @Singleton
+  static class SingletonThing {
+    @Inject
+    SingletonThing(final Dependency dependency, final SharedDependency shared, final UsedEagerThing eager) {
+    }
+  }
+
+  static class UnscopedThing {
+    @Inject
+    UnscopedThing(final SharedDependency shared) {
+    }
+  }
+
+  static class Dependency {
+  }
+
+  static class SharedDependency {
+  }
+
+  static class EagerThing {
+  }
+
+  static class UsedEagerThing {
+  }
+
+  interface A {
+  }
+
+  interface B extends A {
+  }
+
+  interface C extends B {
+  }
+
+  static class D implements C {
+  }
+
+  static class Cheap {
+  }
+}
@@ -25,15 +25,29 @@ package net.kyori.violet;
 
 import com.google.common.collect.Iterables;
 import com.google.inject.Binder;
+import com.google.inject.Binding;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.TypeLiteral;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.PrivateElements;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.inject.Inject;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SetBinderTest {
@@ -54,10 +68,104 @@ class SetBinderTest {
     assertTrue(Iterables.contains(stuff.strings, "bar"));
   }
 
+  @Test
+  void testPriority() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        final StringBinder strings = new StringBinder(this.binder());
+        strings.addBinding(10).toInstance("last");
+        strings.addBinding().toInstance("middle");
+        strings.addBinding(-10).toInstance("first");
+      }
+    }, new AbstractModule() {
+      @Override
+      protected void configure() {
+        new StringBinder(this.binder()).addBinding(5).toInstance("later");
+      }
+    });
+    final Stuff stuff = injector.getInstance(Stuff.class);
+    assertEquals(4, stuff.strings.size());
+    assertEquals(Arrays.asList("first", "middle", "later", "last"), stuff.ordered.asList());
+    assertEquals("later", stuff.ordered.get(2));
+    assertSame(stuff.ordered, injector.getInstance(Stuff.class).ordered);
+    // the ordered elements do not take over the list key
+    assertNull(injector.getExistingBinding(Key.get(new TypeLiteral<List<String>>() {})));
+  }
+
+  @Test
+  void testDeduplicated() {
+    final Injector injector = Guice.createInjector(new StringModule("foo"), new StringModule("foo"), new StringModule("bar"));
+    final Stuff stuff = injector.getInstance(Stuff.class);
+    assertEquals(2, stuff.strings.size());
+    assertEquals(Arrays.asList("foo", "bar"), stuff.ordered.asList());
+  }
+
+  @Test
+  void testDeterministicKeys() {
+    final AbstractModule module = new AbstractModule() {
+      @Override
+      protected void configure() {
+        new StringBinder(this.binder()).addBinding(1).toInstance("foo");
+      }
+    };
+    assertEquals(privateKeys(module), privateKeys(module));
+  }
+
+  private static Set<Key<?>> privateKeys(final Module module) {
+    final Set<Key<?>> keys = new HashSet<>();
+    for(final Element element : Elements.getElements(module)) {
+      if(element instanceof PrivateElements) {
+        for(final Element child : ((PrivateElements) element).getElements()) {
+          if(child instanceof Binding) {
+            keys.add(((Binding<?>) child).getKey());
+          }
+        }
+      }
+    }
+    return keys;
+  }
+
+  @Test
+  void testSnapshot() {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        final SetBinder<String> strings = new SetBinder<>(this.binder(), Key.get(String.class), SetBinder.Mode.SNAPSHOT);
+        strings.addBinding(1).toInstance("bar");
+        strings.addBinding(0).toInstance("foo");
+        final SetBinder<Object> objects = new SetBinder<>(this.binder(), Key.get(Object.class), SetBinder.Mode.SNAPSHOT);
+        objects.addBinding().toInstance("singleton");
+        objects.addBinding().to(Object.class);
+      }
+    });
+    final Set<String> strings = injector.getInstance(Key.get(new TypeLiteral<Set<String>>() {}));
+    assertEquals(Arrays.asList("foo", "bar"), new ArrayList<>(strings));
+    // all elements are singletons
+    assertSame(strings, injector.getInstance(Key.get(new TypeLiteral<Set<String>>() {})));
+    final Set<Object> objects = injector.getInstance(Key.get(new TypeLiteral<Set<Object>>() {}));
+    assertEquals(2, objects.size());
+    assertNotSame(objects, injector.getInstance(Key.get(new TypeLiteral<Set<Object>>() {})));
+  }
+
   private static class Stuff {
+    @Inject private SetBinder.Ordered<String> ordered;
     @Inject private Set<String> strings;
   }
 
+  private static class StringModule extends AbstractModule {
+    private final String string;
+
+    StringModule(final String string) {
+      this.string = string;
+    }
+
+    @Override
+    protected void configure() {
+      new StringBinder(this.binder()).addBinding().toInstance(this.string);
+    }
+  }
+
   private static class StringBinder extends SetBinder<String> {
     StringBinder(final Binder binder) {
       super(binder, String.class);
@@ -25,8 +25,17 @@ package net.kyori.violet;
 
 import com.google.inject.CreationException;
 import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provides;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 class SingletonModuleTest {
@@ -58,6 +67,44 @@ class SingletonModuleTest {
     });
   }
 
+  @Test
+  void testSnapshot() {
+    ModuleSnapshot.invalidate(new CountingSingletonModule());
+    CountingSingletonModule.CONFIGURE_COUNT.set(0);
+    for(int i = 0; i < 3; i++) {
+      final Injector injector = Guice.createInjector(new AbstractModule() {
+        @Override
+        protected void configure() {
+          this.installSnapshot(new CountingSingletonModule());
+          this.installSnapshot(new CountingSingletonModule());
+        }
+      });
+      assertEquals(ThingA.class, injector.getInstance(Thing.class).getClass());
+    }
+    assertEquals(1, CountingSingletonModule.CONFIGURE_COUNT.get());
+    assertTrue(ModuleSnapshot.of(new CountingSingletonModule()).replayable());
+  }
+
+  @Test
+  void testSnapshotNotReplayable() {
+    for(final SingletonModule module : Arrays.asList(new LazySingletonModule(), new DuplexSingletonModule(), new ProvidesSingletonModule())) {
+      ModuleSnapshot.invalidate(module);
+      for(int i = 0; i < 2; i++) {
+        final Injector injector = Guice.createInjector(new AbstractModule() {
+          @Override
+          protected void configure() {
+            this.installSnapshot(module);
+          }
+        });
+        assertEquals(ThingA.class, injector.getInstance(Thing.class).getClass());
+        if(module instanceof LazySingletonModule) {
+          assertEquals(ThingA.class, injector.getInstance(new Key<Lazy<Thing>>() {}).get().getClass());
+        }
+      }
+      assertFalse(ModuleSnapshot.of(module).replayable());
+    }
+  }
+
   private interface Thing {}
   private static class ThingA implements Thing {}
 
@@ -68,6 +115,47 @@ class SingletonModuleTest {
     }
   }
 
+  private static final class CountingSingletonModule extends SingletonModule {
+    static final AtomicInteger CONFIGURE_COUNT = new AtomicInteger();
+
+    @Override
+    protected void configure() {
+      CONFIGURE_COUNT.incrementAndGet();
+      this.bind(Thing.class).to(ThingA.class);
+    }
+  }
+
+  private static final class LazySingletonModule extends SingletonModule {
+    @Override
+    protected void configure() {
+      this.bindLazy(Thing.class).to(ThingA.class);
+    }
+  }
+
+  private static final class DuplexSingletonModule extends SingletonModule {
+    @Override
+    protected void configure() {
+      DuplexBinder.create(this.binder()).install(new DuplexModule() {
+        @Override
+        protected void configure() {
+          this.bind(Thing.class).to(ThingA.class);
+          this.expose(Thing.class);
+        }
+      });
+    }
+  }
+
+  private static final class ProvidesSingletonModule extends SingletonModule {
+    @Override
+    protected void configure() {
+    }
+
+    @Provides
+    Thing thing() {
+      return new ThingA();
+    }
+  }
+
   private static final class TestAbstractModule extends com.google.inject.AbstractModule {
     @Override
     protected void configure() {
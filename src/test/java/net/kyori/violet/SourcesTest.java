@@ -0,0 +1,98 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.ElementSource;
+import com.google.inject.spi.Elements;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SourcesTest {
+  @Test
+  void testSkipSourcesMemoized() {
+    Elements.getElements(new AbstractModule() {
+      @Override
+      protected void configure() {
+        final VBinder binder = this.skipSources(SourcesTest.class);
+        assertSame(binder, this.skipSources(SourcesTest.class));
+        assertSame(binder, binder.skipSources(SourcesTest.class));
+        assertNotSame(binder, this.skipSources(String.class));
+        // already skipped by the wrapper itself
+        final VBinder wrapped = VBinder.of(this.binder());
+        assertSame(wrapped, wrapped.skipSources(VBinder.class));
+      }
+    });
+  }
+
+  @Test
+  void testParse() {
+    assertEquals(Sources.Mode.STACK_TRACE, Sources.parse(null));
+    assertEquals(Sources.Mode.PRECOMPUTED, Sources.parse(" precomputed "));
+    assertEquals(Sources.Mode.STACK_TRACE, Sources.parse("unknown"));
+    final Locale locale = Locale.getDefault();
+    Locale.setDefault(new Locale("tr", "TR"));
+    try {
+      // the upper case of "i" is a dotted capital I in turkish
+      assertEquals(Sources.Mode.STACK_TRACE, Sources.parse("stack_trace"));
+    } finally {
+      Locale.setDefault(locale);
+    }
+  }
+
+  @Test
+  void testPrecomputed() {
+    final Sources.Mode mode = Sources.mode();
+    Sources.mode(Sources.Mode.PRECOMPUTED);
+    final List<Element> elements;
+    try {
+      elements = Elements.getElements(new Precomputed());
+    } finally {
+      Sources.mode(mode);
+    }
+    final Binding<?> binding = (Binding<?>) elements.stream()
+      .filter(element -> element instanceof Binding && ((Binding<?>) element).getKey().equals(Key.get(String.class, Names.named("a"))))
+      .findFirst()
+      .orElseThrow(AssertionError::new);
+    final Object source = binding.getSource() instanceof ElementSource ? ((ElementSource) binding.getSource()).getDeclaringSource() : binding.getSource();
+    assertSame(Sources.source(Precomputed.class), source);
+    assertEquals(Precomputed.class.getName(), ((StackTraceElement) source).getClassName());
+  }
+
+  private static final class Precomputed extends AbstractModule {
+    @Override
+    protected void configure() {
+      this.bind(String.class).annotatedWith(Names.named("a")).toInstance("a");
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ThreadScopeTest {
+  @Test
+  void testPerThread() throws Exception {
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bindScope(PerThread.class, PerThread.SCOPE);
+      }
+    });
+    final Thing thing = injector.getInstance(Thing.class);
+    assertSame(thing, injector.getInstance(Thing.class));
+    final Thing other = CompletableFuture.supplyAsync(() -> injector.getInstance(Thing.class), Executors.newSingleThreadExecutor(runnable -> {
+      final Thread thread = new Thread(runnable);
+      thread.setDaemon(true);
+      return thread;
+    })).get();
+    assertNotSame(thing, other);
+    PerThread.SCOPE.clear();
+    assertNotSame(thing, injector.getInstance(Thing.class));
+  }
+
+  @Test
+  void testClear() throws Exception {
+    final ThreadScope scope = ThreadScope.create("test");
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.bind(Thing.class).in(scope);
+      }
+    });
+    final Thing thing = injector.getInstance(Thing.class);
+    final List<Object> cleared = new ArrayList<>();
+    scope.clear(cleared::add);
+    assertEquals(1, cleared.size());
+    assertSame(thing, cleared.get(0));
+
+    final ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      final List<Thing> things = new ArrayList<>();
+      for(int i = 0; i < 2; i++) {
+        CompletableFuture.runAsync(() -> things.add(injector.getInstance(Thing.class)), scope.wrap(pool)).get();
+      }
+      // the same pooled thread, but cleared after each task
+      assertNotSame(things.get(0), things.get(1));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @PerThread
+  private static class Thing {}
+}
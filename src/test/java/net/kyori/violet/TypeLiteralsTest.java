@@ -26,13 +26,21 @@ package net.kyori.violet;
 import com.google.inject.TypeLiteral;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class TypeLiteralsTest {
+  @Test
+  void testCollectionOf() {
+    assertEquals(new TypeLiteral<Collection<String>>() {}, TypeLiterals.collectionOf(String.class));
+    assertEquals(new TypeLiteral<Collection<String>>() {}, TypeLiterals.collectionOf(new TypeLiteral<String>() {}));
+  }
+
   @Test
   void testListOf() {
     assertEquals(new TypeLiteral<List<String>>() {}, TypeLiterals.listOf(String.class));
@@ -52,4 +60,11 @@ class TypeLiteralsTest {
     assertEquals(new TypeLiteral<Set<String>>() {}, TypeLiterals.setOf(String.class));
     assertEquals(new TypeLiteral<Set<String>>() {}, TypeLiterals.setOf(new TypeLiteral<String>() {}));
   }
+
+  @Test
+  void testCanonical() {
+    assertSame(TypeLiterals.listOf(String.class), TypeLiterals.listOf(new TypeLiteral<String>() {}));
+    assertSame(TypeLiterals.setOf(TypeLiterals.listOf(String.class)), TypeLiterals.setOf(new TypeLiteral<List<String>>() {}));
+    assertSame(TypeLiterals.mapOf(String.class, Integer.class), TypeLiterals.mapOf(new TypeLiteral<String>() {}, Integer.class));
+  }
 }
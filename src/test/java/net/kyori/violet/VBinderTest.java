@@ -26,7 +26,9 @@ package net.kyori.violet;
 import com.google.inject.BindingAnnotation;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Key;
 import com.google.inject.assistedinject.Assisted;
+import com.google.inject.matcher.Matchers;
 import org.junit.jupiter.api.Test;
 
 import java.lang.annotation.Retention;
@@ -37,6 +39,7 @@ import java.util.Set;
 import javax.inject.Inject;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 // TODO: test VDuplexBinder and VPrivateBinder
 class VBinderTest {
@@ -128,6 +131,26 @@ class VBinderTest {
     assertEquals(4, injector.getInstance(InjectedOptionalFooThing.class).optional.get().value());
   }
 
+  @Test
+  void testInstrument() {
+    final ProvisionMetrics[] metrics = new ProvisionMetrics[1];
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        metrics[0] = this.instrument(Matchers.any());
+        this.bind(Thing.class).to(ThingA.class);
+      }
+    });
+    for(int i = 0; i < 10; i++) {
+      injector.getInstance(Thing.class);
+    }
+    // linked bindings are recorded against their target
+    final LatencyHistogram.Snapshot snapshot = metrics[0].snapshot(Key.get(ThingA.class));
+    assertEquals(10, snapshot.count());
+    assertTrue(snapshot.percentile(50) <= snapshot.max());
+    assertEquals(false, metrics[0].snapshot().containsKey(Key.get(Thing.class)));
+  }
+
   private interface Thing {}
   private static class ThingA implements Thing {}
   private static class ThingB implements Thing {}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ValueModuleTest {
+  @Test
+  void testEquality() {
+    assertEquals(new NamedModule("a", 1), new NamedModule("a", 1));
+    assertEquals(new NamedModule("a", 1).hashCode(), new NamedModule("a", 1).hashCode());
+    assertNotEquals(new NamedModule("a", 1), new NamedModule("a", 2));
+    assertNotEquals(new NamedModule("a", 1), new NamedModule("b", 1));
+  }
+
+  @Test
+  void testModuleInstallation() {
+    NamedModule.CONFIGURE_COUNT.set(0);
+    final Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        this.install(new NamedModule("a", 1));
+        this.install(new NamedModule("a", 1));
+        this.install(new NamedModule("b", 2));
+      }
+    });
+    assertEquals(2, NamedModule.CONFIGURE_COUNT.get());
+    assertEquals(1, (int) injector.getInstance(Key.get(Integer.class, Names.named("a"))));
+    assertEquals(2, (int) injector.getInstance(Key.get(Integer.class, Names.named("b"))));
+  }
+
+  @Test
+  void testCapturingModule() {
+    assertEquals(capturing("a"), capturing("a"));
+    assertNotEquals(capturing("a"), capturing("b"));
+    final Injector injector = Guice.createInjector(capturing("a"), capturing("b"), capturing("b"));
+    assertEquals("a", injector.getInstance(Key.get(String.class, Names.named("a"))));
+    assertEquals("b", injector.getInstance(Key.get(String.class, Names.named("b"))));
+  }
+
+  private static ValueModule capturing(final String name) {
+    return new ValueModule() {
+      @Override
+      protected void configure() {
+        this.bind(String.class).annotatedWith(Names.named(name)).toInstance(name);
+      }
+    };
+  }
+
+  private static final class NamedModule extends ValueModule {
+    static final AtomicInteger CONFIGURE_COUNT = new AtomicInteger();
+    private final String name;
+    private final int value;
+
+    NamedModule(final String name, final int value) {
+      this.name = name;
+      this.value = value;
+    }
+
+    @Override
+    protected void configure() {
+      CONFIGURE_COUNT.incrementAndGet();
+      this.bind(Integer.class).annotatedWith(Names.named(this.name)).toInstance(this.value);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * An annotation processor which writes a binding index of the classes being compiled.
+ *
+ * <p>The index lists the classes with an {@code @Inject} constructor, the classes annotated with
+ * {@code @LazySingleton}, and the concrete violet modules with a public no-argument constructor.
+ * It is read at runtime by {@code net.kyori.violet.BindingIndex}.</p>
+ */
+@SupportedAnnotationTypes("*")
+public final class BindingIndexProcessor extends AbstractProcessor {
+  /**
+   * The location of the binding index.
+   */
+  public static final String LOCATION = "META-INF/violet/bindings.index";
+  // the kinds of entries - violet-processor does not depend on violet, so net.kyori.violet.BindingIndex declares these again, and they must match
+  /**
+   * The kind of a class with an {@code @Inject} constructor.
+   */
+  public static final String INJECT = "inject";
+  /**
+   * The kind of a class annotated with {@code @LazySingleton}.
+   */
+  public static final String LAZY_SINGLETON = "lazy-singleton";
+  /**
+   * The kind of a violet module.
+   */
+  public static final String MODULE = "module";
+  private static final String[] INJECT_ANNOTATIONS = {"com.google.inject.Inject", "javax.inject.Inject"};
+  private static final String ASSISTED = "com.google.inject.assistedinject.Assisted";
+  private static final String LAZY_SINGLETON_ANNOTATION = "net.kyori.violet.LazySingleton";
+  private static final String[] MODULES = {"net.kyori.violet.AbstractModule", "net.kyori.violet.DuplexModule"};
+  // binary name -> kind, in the order discovered
+  private final Map<String, String> index = new LinkedHashMap<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment environment) {
+    if(environment.processingOver()) {
+      if(!this.index.isEmpty()) {
+        this.write();
+      }
+    } else {
+      for(final TypeElement type : ElementFilter.typesIn(environment.getRootElements())) {
+        this.visit(type);
+      }
+    }
+    // we do not claim any annotations
+    return false;
+  }
+
+  private void visit(final TypeElement type) {
+    final /* @Nullable */ String kind = this.kind(type);
+    if(kind != null) {
+      this.index.put(this.processingEnv.getElementUtils().getBinaryName(type).toString(), kind);
+    }
+    for(final TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+      this.visit(member);
+    }
+  }
+
+  private /* @Nullable */ String kind(final TypeElement type) {
+    if(type.getKind() != ElementKind.CLASS || !type.getTypeParameters().isEmpty()) {
+      return null;
+    }
+    final Set<Modifier> modifiers = type.getModifiers();
+    if(modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) {
+      return null;
+    }
+    if(type.getNestingKind() != NestingKind.TOP_LEVEL && (type.getNestingKind() != NestingKind.MEMBER || !modifiers.contains(Modifier.STATIC))) {
+      return null;
+    }
+    if(this.isModule(type)) {
+      return modifiers.contains(Modifier.PUBLIC) && this.hasPublicNoArgumentConstructor(type) ? MODULE : null;
+    }
+    boolean inject = false;
+    for(final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if(hasAnnotation(constructor, INJECT_ANNOTATIONS)) {
+        // assisted types are created by a factory, and can not be bound directly
+        for(final VariableElement parameter : constructor.getParameters()) {
+          if(hasAnnotation(parameter, ASSISTED)) {
+            return null;
+          }
+        }
+        inject = true;
+      }
+    }
+    if(hasAnnotation(type, LAZY_SINGLETON_ANNOTATION)) {
+      return LAZY_SINGLETON;
+    }
+    return inject ? INJECT : null;
+  }
+
+  private boolean isModule(final TypeElement type) {
+    for(final String module : MODULES) {
+      final /* @Nullable */ TypeElement element = this.processingEnv.getElementUtils().getTypeElement(module);
+      if(element != null) {
+        final TypeMirror erasure = this.processingEnv.getTypeUtils().erasure(element.asType());
+        if(this.processingEnv.getTypeUtils().isAssignable(type.asType(), erasure)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean hasPublicNoArgumentConstructor(final TypeElement type) {
+    for(final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if(constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasAnnotation(final Element element, final String... names) {
+    for(final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      final String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+      for(final String candidate : names) {
+        if(candidate.equals(name)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void write() {
+    try {
+      final FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+      try(final Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+        writer.write("# generated by violet-processor\n");
+        for(final Map.Entry<String, String> entry : this.index.entrySet()) {
+          writer.write(entry.getValue());
+          writer.write(' ');
+          writer.write(entry.getKey());
+          writer.write('\n');
+        }
+      }
+    } catch(final IOException e) {
+      this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + LOCATION + ": " + e);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of violet, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2018 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.violet.processor;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BindingIndexProcessorTest {
+  @Test
+  void testIndex() throws IOException {
+    final List<String> index = process(
+      source("javax.inject.Inject", "package javax.inject; public @interface Inject {}"),
+      source("com.google.inject.assistedinject.Assisted", "package com.google.inject.assistedinject; public @interface Assisted {}"),
+      source("net.kyori.violet.LazySingleton", "package net.kyori.violet; public @interface LazySingleton {}"),
+      source("net.kyori.violet.AbstractModule", "package net.kyori.violet; public abstract class AbstractModule {}"),
+      source("test.Things", String.join("\n",
+        "package test;",
+        "import javax.inject.Inject;",
+        "import com.google.inject.assistedinject.Assisted;",
+        "import net.kyori.violet.AbstractModule;",
+        "import net.kyori.violet.LazySingleton;",
+        "public class Things {",
+        "  static class InjectThing { @Inject InjectThing() {} }",
+        "  @LazySingleton static class LazyThing {}",
+        "  static class AssistedThing { @Inject AssistedThing(@Assisted String name) {} }",
+        "  static abstract class AbstractThing { @Inject AbstractThing() {} }",
+        "  static class GenericThing<T> { @Inject GenericThing() {} }",
+        "  private static class PrivateThing { @Inject PrivateThing() {} }",
+        "  class InnerThing { @Inject InnerThing() {} }",
+        "  public static class Module extends AbstractModule {}",
+        "  public static class ArgumentModule extends AbstractModule { public ArgumentModule(String name) {} }",
+        "}"
+      ))
+    );
+    assertEquals(Arrays.asList(
+      "# generated by violet-processor",
+      BindingIndexProcessor.INJECT + " test.Things$InjectThing",
+      BindingIndexProcessor.LAZY_SINGLETON + " test.Things$LazyThing",
+      BindingIndexProcessor.MODULE + " test.Things$Module"
+    ), index);
+  }
+
+  @Test
+  void testEmpty() throws IOException {
+    final Path output = Files.createTempDirectory("violet-processor");
+    compile(output, source("test.Empty", "package test; public class Empty {}"));
+    assertTrue(Files.notExists(output.resolve(BindingIndexProcessor.LOCATION)));
+  }
+
+  private static List<String> process(final JavaFileObject... sources) throws IOException {
+    final Path output = Files.createTempDirectory("violet-processor");
+    compile(output, sources);
+    return Files.readAllLines(output.resolve(BindingIndexProcessor.LOCATION), StandardCharsets.UTF_8);
+  }
+
+  private static void compile(final Path output, final JavaFileObject... sources) throws IOException {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try(final StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      files.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(output.toFile()));
+      final JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, Collections.singletonList("-proc:only"), null, Arrays.asList(sources));
+      task.setProcessors(Collections.singleton(new BindingIndexProcessor()));
+      assertTrue(task.call());
+    }
+  }
+
+  private static JavaFileObject source(final String name, final String source) {
+    return new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+        return source;
+      }
+    };
+  }
+}